@@ -0,0 +1,90 @@
+package com.fiec.voz_cidada.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.hateoas.Link;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Evita um linkTo(methodOn(...)) por link de cada DTO. Na primeira vez que um serviço gera links para
+ * um base URI (esquema + host + context path), os links são resolvidos uma única vez com um ID marcador
+ * e guardados como prefixo/sufixo; nas demais, só o ID é concatenado.
+ * O base URI é calculado uma vez por requisição, então uma página inteira paga uma única resolução.
+ */
+@Component
+public class LinkTemplateCache {
+
+    private static final Long MARKER = Long.MIN_VALUE;
+    private static final String MARKER_TEXT = String.valueOf(MARKER);
+    private static final String REQUEST_ATTRIBUTE = LinkTemplateCache.class.getName() + ".templates";
+    // O base URI vem do Host da requisição; o limite impede que hosts arbitrários façam o cache crescer
+    private static final long MAX_BASE_URIS = 64;
+
+    private final Cache<String, Map<Class<?>, LinkTemplate[]>> templatesByBaseUri = Caffeine.newBuilder()
+            .maximumSize(MAX_BASE_URIS)
+            .build();
+
+    /**
+     * @param owner    controller dono das rotas (chave do cache junto com o base URI)
+     * @param id       ID do recurso
+     * @param resolver gera os links para um ID; chamado só na primeira resolução ou fora de uma requisição
+     */
+    public Link[] expand(Class<?> owner, Long id, Function<Long, Link[]> resolver) {
+        Map<Class<?>, LinkTemplate[]> templates = id != null ? currentTemplates() : null;
+        if (templates == null) {
+            return resolver.apply(id);
+        }
+        LinkTemplate[] compiled = templates.computeIfAbsent(owner, key -> compile(resolver.apply(MARKER)));
+        String idText = id.toString();
+        Link[] links = new Link[compiled.length];
+        for (int i = 0; i < compiled.length; i++) {
+            links[i] = compiled[i].expand(idText);
+        }
+        return links;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Class<?>, LinkTemplate[]> currentTemplates() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Map<Class<?>, LinkTemplate[]> templates =
+                (Map<Class<?>, LinkTemplate[]>) attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (templates == null) {
+            String baseUri = ServletUriComponentsBuilder.fromCurrentServletMapping().toUriString();
+            templates = templatesByBaseUri.get(baseUri, key -> new ConcurrentHashMap<>());
+            attributes.setAttribute(REQUEST_ATTRIBUTE, templates, RequestAttributes.SCOPE_REQUEST);
+        }
+        return templates;
+    }
+
+    private static LinkTemplate[] compile(Link[] links) {
+        LinkTemplate[] compiled = new LinkTemplate[links.length];
+        for (int i = 0; i < links.length; i++) {
+            Link link = links[i];
+            int at = link.getHref().indexOf(MARKER_TEXT);
+            compiled[i] = at < 0
+                    ? new LinkTemplate(link, null, null)
+                    : new LinkTemplate(link, link.getHref().substring(0, at), link.getHref().substring(at + MARKER_TEXT.length()));
+        }
+        return compiled;
+    }
+
+    /**
+     * Links sem o marcador (ex.: o da coleção) são reaproveitados como estão; Link é imutável.
+     */
+    private record LinkTemplate(Link link, String prefix, String suffix) {
+        Link expand(String id) {
+            return prefix == null ? link : Link.of(prefix + id + suffix, link.getRel());
+        }
+    }
+
+}
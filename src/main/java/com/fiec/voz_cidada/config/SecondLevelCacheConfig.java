@@ -0,0 +1,125 @@
+package com.fiec.voz_cidada.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.management.CacheStatisticsMXBean;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache de segundo nível do Hibernate para AuthUser, Usuario e Funcionario (lidos em quase toda requisição
+ * e raramente alterados), mais o cache de consultas de findByAuthUser_Id.
+ * Cada região é um cache Caffeine via JCache com tamanho e TTL próprios (entity-cache.regions.*).
+ * As escritas passam pelo Hibernate (estratégia READ_WRITE), que atualiza a região no commit; consultas com
+ * cache são invalidadas pela região de timestamps sempre que a tabela muda.
+ * Métricas: cache.gets/puts/removals e cache.hit.ratio com a tag cache=<região>.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "entity-cache.enabled", havingValue = "true")
+public class SecondLevelCacheConfig {
+
+    public static final String AUTH_USER_REGION = "auth_user";
+    public static final String USUARIO_REGION = "usuario";
+    public static final String FUNCIONARIO_REGION = "funcionario";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(
+            @Value("${entity-cache.regions.auth-user.max-size}") long authUserMaxSize,
+            @Value("${entity-cache.regions.auth-user.ttl}") long authUserTtl,
+            @Value("${entity-cache.regions.usuario.max-size}") long usuarioMaxSize,
+            @Value("${entity-cache.regions.usuario.ttl}") long usuarioTtl,
+            @Value("${entity-cache.regions.funcionario.max-size}") long funcionarioMaxSize,
+            @Value("${entity-cache.regions.funcionario.ttl}") long funcionarioTtl,
+            @Value("${entity-cache.regions.query.max-size}") long queryMaxSize,
+            @Value("${entity-cache.regions.query.ttl}") long queryTtl,
+            MeterRegistry registry)
+    {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        createRegion(cacheManager, registry, AUTH_USER_REGION, authUserMaxSize, authUserTtl);
+        createRegion(cacheManager, registry, USUARIO_REGION, usuarioMaxSize, usuarioTtl);
+        createRegion(cacheManager, registry, FUNCIONARIO_REGION, funcionarioMaxSize, funcionarioTtl);
+        createRegion(cacheManager, registry, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, queryMaxSize, queryTtl);
+        // Uma entrada por tabela; não pode expirar antes dos resultados que ela invalida
+        createRegion(cacheManager, registry, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, 0, 0);
+        log.info("Cache de segundo nível do Hibernate ativo.");
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            // Toda região usada precisa estar configurada acima; uma criada com os padrões não teria limite
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+        };
+    }
+
+    /**
+     * @param maxSize 0 = sem limite
+     * @param ttl     segundos desde a escrita; 0 = sem expiração
+     */
+    private static void createRegion(CacheManager cacheManager, MeterRegistry registry, String name, long maxSize, long ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // O Hibernate já guarda o estado desmontado da entidade; copiar de novo a cada acesso só custaria CPU
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        if (maxSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if (ttl > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttl)));
+        }
+        Cache<Object, Object> cache = cacheManager.createCache(name, configuration);
+
+        JCacheMetrics.monitor(registry, cache, Tags.empty());
+        CacheStatisticsMXBean statistics = statistics(name);
+        Gauge.builder("cache.hit.ratio", statistics, stats -> stats.getCacheHitPercentage() / 100)
+                .description("Fração das leituras da região atendidas pelo cache")
+                .tag("cache", name)
+                .register(registry);
+    }
+
+    // O Caffeine publica as estatísticas JCache só via JMX (javax.cache:type=CacheStatistics,...)
+    private static CacheStatisticsMXBean statistics(String cacheName) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            Set<ObjectName> names = server.queryNames(
+                    new ObjectName("javax.cache:type=CacheStatistics,Cache=" + cacheName + ",*"), null);
+            if (names.isEmpty()) {
+                throw new IllegalStateException("Estatísticas da região " + cacheName + " não registradas.");
+            }
+            return JMX.newMXBeanProxy(server, names.iterator().next(), CacheStatisticsMXBean.class);
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
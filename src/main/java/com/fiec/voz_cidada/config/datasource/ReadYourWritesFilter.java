@@ -0,0 +1,57 @@
+package com.fiec.voz_cidada.config.datasource;
+
+import com.fiec.voz_cidada.domain.auth_user.AuthUser;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Roda depois do SecurityFilter. Requisições de escrita e leituras de quem escreveu há pouco ficam no primário;
+ * ao fim de uma escrita bem-sucedida, a janela de leitura no primário do usuário é renovada.
+ * Não é um @Component para não ser registrado também como filtro do servlet, antes da autenticação.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final ReadYourWritesTracker tracker;
+
+    public ReadYourWritesFilter(ReadYourWritesTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Long authUserId = currentAuthUserId();
+        boolean write = isWrite(request.getMethod());
+        if (write || (authUserId != null && tracker.isRecentWriter(authUserId))) {
+            tracker.requirePrimary();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            tracker.clear();
+            if (write && authUserId != null && response.getStatus() < 400) {
+                tracker.markWrite(authUserId);
+            }
+        }
+    }
+
+    private static boolean isWrite(String method) {
+        return !("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method));
+    }
+
+    private static Long currentAuthUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthUser authUser) {
+            return authUser.getId();
+        }
+        return null;
+    }
+
+}
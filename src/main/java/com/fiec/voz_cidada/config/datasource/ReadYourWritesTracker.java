@@ -0,0 +1,52 @@
+package com.fiec.voz_cidada.config.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Lembra quem escreveu há pouco para que as leituras dessa pessoa sigam no primário durante
+ * datasource.replica.read-your-writes-window, enquanto as réplicas alcançam a escrita.
+ * A decisão vale para a requisição inteira e fica na thread que a atende.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(
+            @Value("${datasource.replica.read-your-writes-window}") long windowMillis,
+            @Value("${datasource.replica.read-your-writes-max-users}") long maxUsers)
+    {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(Duration.ofMillis(windowMillis))
+                .build();
+    }
+
+    public void markWrite(Long authUserId) {
+        recentWriters.put(authUserId, Boolean.TRUE);
+    }
+
+    public boolean isRecentWriter(Long authUserId) {
+        return recentWriters.getIfPresent(authUserId) != null;
+    }
+
+    public void requirePrimary() {
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+    }
+
+    public void clear() {
+        PRIMARY_REQUIRED.remove();
+    }
+
+    public boolean isPrimaryRequired() {
+        return PRIMARY_REQUIRED.get() != null;
+    }
+
+}
@@ -0,0 +1,138 @@
+package com.fiec.voz_cidada.config.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Destino das transações somente leitura. Reparte as conexões entre as réplicas saudáveis (round-robin)
+ * e cai para o primário quando nenhuma responde ou quando a requisição precisa ler as próprias escritas.
+ * Uma réplica atrasada além de max-lag sai do rodízio até uma verificação de saúde passar. Uma que falha ao
+ * entregar conexão volta a ser tentada depois de retryMillis (ou antes, se uma verificação passar).
+ */
+@Slf4j
+public class ReplicaSelectingDataSource extends AbstractDataSource {
+
+    private static final String LAG_QUERY = "SELECT CASE " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWritesTracker tracker;
+    private final long maxLagMillis;
+    private final long retryNanos;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaSelectingDataSource(DataSource primary, List<DataSource> replicas, ReadYourWritesTracker tracker,
+                                      long maxLagMillis, long retryMillis) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.tracker = tracker;
+        this.maxLagMillis = maxLagMillis;
+        this.retryNanos = TimeUnit.MILLISECONDS.toNanos(retryMillis);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!tracker.isPrimaryRequired()) {
+            int size = replicas.size();
+            int start = Math.floorMod(next.getAndIncrement(), size);
+            for (int i = 0; i < size; i++) {
+                Replica replica = replicas.get((start + i) % size);
+                if (!replica.isAvailable()) {
+                    continue;
+                }
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException e) {
+                    replica.markFailed("falha ao obter conexão: " + e.getMessage());
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    // Os pools (Hikari) usam as credenciais da própria configuração e não aceitam outras por conexão
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.health-check-interval}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery(LAG_QUERY)) {
+                long lagMillis = result.next() ? (long) (result.getDouble(1) * 1000) : 0;
+                if (lagMillis > maxLagMillis) {
+                    replica.markLagging("atraso de replicação de " + lagMillis + " ms");
+                } else {
+                    replica.markUp();
+                }
+            } catch (SQLException e) {
+                replica.markFailed("verificação falhou: " + e.getMessage());
+            }
+        }
+    }
+
+    private final class Replica {
+        private final DataSource dataSource;
+        // Só markUp (verificação de saúde aprovada) limpa o atraso; não há volta por tempo
+        private volatile boolean lagging;
+        private volatile boolean failed;
+        private volatile long retryAt;
+
+        Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        boolean isAvailable() {
+            return !lagging && (!failed || System.nanoTime() - retryAt >= 0);
+        }
+
+        void markLagging(String reason) {
+            boolean wasAvailable = !lagging && !failed;
+            lagging = true;
+            if (wasAvailable) {
+                log.warn("Réplica {} fora do rodízio: {}", dataSource, reason);
+            }
+        }
+
+        void markFailed(String reason) {
+            boolean wasAvailable = !lagging && !failed;
+            retryAt = System.nanoTime() + retryNanos;
+            failed = true;
+            if (wasAvailable) {
+                log.warn("Réplica {} fora do rodízio: {}", dataSource, reason);
+            }
+        }
+
+        void markUp() {
+            if (lagging || failed) {
+                lagging = false;
+                failed = false;
+                log.info("Réplica {} de volta ao rodízio.", dataSource);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.fiec.voz_cidada.config.security;
+
+import com.fiec.voz_cidada.exceptions.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limita tentativas de login por login e por IP com token buckets em memória.
+ * A checagem acontece antes do AuthenticationManager, então tentativas recusadas não chegam ao BCrypt.
+ * Só os buckets de chaves ativas ficam em memória (LRU limitado por security.login-throttle.max-keys).
+ */
+@Component
+public class LoginThrottle {
+
+    private static final String MESSAGE = "Muitas tentativas de login. Tente novamente em alguns instantes.";
+
+    private final Cache<String, TokenBucket> loginBuckets;
+    private final Cache<String, TokenBucket> ipBuckets;
+    private final long loginCapacity;
+    private final long loginRefillNanos;
+    private final long ipCapacity;
+    private final long ipRefillNanos;
+    private final Counter rejectedByLogin;
+    private final Counter rejectedByIp;
+
+    public LoginThrottle(
+            @Value("${security.login-throttle.per-login.capacity}") long loginCapacity,
+            @Value("${security.login-throttle.per-login.refill-per-minute}") long loginRefillPerMinute,
+            @Value("${security.login-throttle.per-ip.capacity}") long ipCapacity,
+            @Value("${security.login-throttle.per-ip.refill-per-minute}") long ipRefillPerMinute,
+            @Value("${security.login-throttle.max-keys}") long maxKeys,
+            MeterRegistry registry)
+    {
+        this.loginCapacity = loginCapacity;
+        this.loginRefillNanos = TimeUnit.MINUTES.toNanos(1) / loginRefillPerMinute;
+        this.ipCapacity = ipCapacity;
+        this.ipRefillNanos = TimeUnit.MINUTES.toNanos(1) / ipRefillPerMinute;
+        this.loginBuckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(loginRefillNanos * loginCapacity))
+                .build();
+        this.ipBuckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(ipRefillNanos * ipCapacity))
+                .build();
+        this.rejectedByLogin = Counter.builder("auth.login.throttled")
+                .description("Tentativas de login recusadas pelo limitador")
+                .tag("key", "login")
+                .register(registry);
+        this.rejectedByIp = Counter.builder("auth.login.throttled")
+                .description("Tentativas de login recusadas pelo limitador")
+                .tag("key", "ip")
+                .register(registry);
+    }
+
+    /**
+     * Consome um token do IP e um do login. Lança TooManyRequestsException (429) se algum estiver vazio.
+     */
+    public void acquire(String login, String clientIp) {
+        long now = System.nanoTime();
+
+        TokenBucket ipBucket = ipBuckets.get(clientIp, key -> new TokenBucket(ipCapacity, ipRefillNanos, now));
+        long ipWait = ipBucket.tryConsume(now);
+        if (ipWait > 0) {
+            rejectedByIp.increment();
+            throw new TooManyRequestsException(MESSAGE, toRetryAfterSeconds(ipWait));
+        }
+
+        String loginKey = login == null ? "" : login.trim().toLowerCase(Locale.ROOT);
+        TokenBucket loginBucket = loginBuckets.get(loginKey, key -> new TokenBucket(loginCapacity, loginRefillNanos, now));
+        long loginWait = loginBucket.tryConsume(now);
+        if (loginWait > 0) {
+            rejectedByLogin.increment();
+            throw new TooManyRequestsException(MESSAGE, toRetryAfterSeconds(loginWait));
+        }
+    }
+
+    /**
+     * O X-Forwarded-For é resolvido pelo Tomcat (server.forward-headers-strategy=native): só hops anexados
+     * por proxies de server.tomcat.remoteip.internal-proxies são descartados, então o remoteAddr é o IP que
+     * conectou no nosso proxy. Um valor forjado pelo cliente no header não troca o bucket.
+     */
+    public String resolveClientIp(HttpServletRequest request) {
+        return request.getRemoteAddr();
+    }
+
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+    }
+
+    /**
+     * Token bucket lock-free. O estado é um único "relógio teórico" (GCRA): o instante em que o
+     * bucket estaria cheio. Consumir um token é avançá-lo em refillNanos com compareAndSet.
+     */
+    static final class TokenBucket {
+        private final long refillNanos;
+        private final long burstNanos;
+        private final AtomicLong fullAt;
+
+        TokenBucket(long capacity, long refillNanos, long now) {
+            this.refillNanos = refillNanos;
+            this.burstNanos = refillNanos * capacity;
+            this.fullAt = new AtomicLong(now);
+        }
+
+        /**
+         * @return 0 se o token foi consumido, ou quantos nanossegundos faltam até o próximo token.
+         */
+        long tryConsume(long now) {
+            while (true) {
+                long current = fullAt.get();
+                long base = Math.max(current, now);
+                long next = base + refillNanos;
+                long excess = next - now - burstNanos;
+                if (excess > 0) {
+                    return excess;
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+
+}
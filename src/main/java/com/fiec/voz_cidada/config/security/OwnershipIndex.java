@@ -0,0 +1,113 @@
+package com.fiec.voz_cidada.config.security;
+
+import com.fiec.voz_cidada.domain.chamado.Secretaria;
+import com.fiec.voz_cidada.repository.FuncionarioRepository;
+import com.fiec.voz_cidada.repository.UsuarioRepository;
+import com.fiec.voz_cidada.util.GenerationalLongLongMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dono de cada perfil para as checagens de acesso: usuarioId -> authUserId, funcionarioId -> authUserId
+ * e authUserId -> secretaria. Em vez de carregar Usuario/Funcionario (e o AuthUser junto) só para comparar
+ * IDs, a checagem vira uma consulta a mapas primitivos; numa falta, só o ID é lido do banco.
+ * Os services de perfil atualizam o índice ao criar e excluir (perfis não trocam de dono nem de secretaria
+ * pela API). Alterações feitas em outra instância aparecem em no máximo 2 * security.ownership-index.ttl.
+ */
+@Component
+public class OwnershipIndex {
+
+    public static final long NONE = -1;
+
+    private static final Secretaria[] SECRETARIAS = Secretaria.values();
+
+    private final UsuarioRepository usuarioRepository;
+    private final FuncionarioRepository funcionarioRepository;
+    private final GenerationalLongLongMap usuarioOwners;
+    private final GenerationalLongLongMap funcionarioOwners;
+    private final GenerationalLongLongMap secretarias;
+
+    public OwnershipIndex(
+            UsuarioRepository usuarioRepository,
+            FuncionarioRepository funcionarioRepository,
+            @Value("${security.ownership-index.max-entries}") int maxEntries,
+            @Value("${security.ownership-index.ttl}") long ttl)
+    {
+        this.usuarioRepository = usuarioRepository;
+        this.funcionarioRepository = funcionarioRepository;
+        long period = TimeUnit.SECONDS.toNanos(ttl);
+        this.usuarioOwners = new GenerationalLongLongMap(maxEntries, period);
+        this.funcionarioOwners = new GenerationalLongLongMap(maxEntries, period);
+        this.secretarias = new GenerationalLongLongMap(maxEntries, period);
+    }
+
+    /**
+     * @return o ID do AuthUser dono do perfil de usuário, ou NONE se o perfil não existe.
+     */
+    public long authUserOfUsuario(long usuarioId) {
+        long owner = usuarioOwners.get(usuarioId, NONE);
+        if (owner != NONE) {
+            return owner;
+        }
+        long stamp = usuarioOwners.stamp();
+        Optional<Long> loaded = usuarioRepository.findAuthUserIdById(usuarioId);
+        loaded.ifPresent(authUserId -> usuarioOwners.putIfUnchanged(usuarioId, authUserId, stamp));
+        return loaded.orElse(NONE);
+    }
+
+    /**
+     * @return o ID do AuthUser dono do perfil de funcionário, ou NONE se o perfil não existe.
+     */
+    public long authUserOfFuncionario(long funcionarioId) {
+        long owner = funcionarioOwners.get(funcionarioId, NONE);
+        if (owner != NONE) {
+            return owner;
+        }
+        long stamp = funcionarioOwners.stamp();
+        Optional<Long> loaded = funcionarioRepository.findAuthUserIdById(funcionarioId);
+        loaded.ifPresent(authUserId -> funcionarioOwners.putIfUnchanged(funcionarioId, authUserId, stamp));
+        return loaded.orElse(NONE);
+    }
+
+    /**
+     * @return a secretaria do funcionário ligado ao AuthUser, ou vazio se ele não tem perfil de funcionário.
+     */
+    public Optional<Secretaria> secretariaOf(long authUserId) {
+        long ordinal = secretarias.get(authUserId, NONE);
+        if (ordinal != NONE) {
+            return Optional.of(SECRETARIAS[(int) ordinal]);
+        }
+        long stamp = secretarias.stamp();
+        Optional<Secretaria> loaded = funcionarioRepository.findSecretariaByAuthUserId(authUserId);
+        loaded.ifPresent(secretaria -> secretarias.putIfUnchanged(authUserId, secretaria.ordinal(), stamp));
+        return loaded;
+    }
+
+    public void usuarioSaved(long usuarioId, long authUserId) {
+        usuarioOwners.put(usuarioId, authUserId);
+    }
+
+    public void usuarioDeleted(long usuarioId, long authUserId) {
+        usuarioOwners.remove(usuarioId);
+        // A exclusão do AuthUser apaga em cascata o perfil de funcionário, se houver
+        secretarias.remove(authUserId);
+    }
+
+    public void funcionarioSaved(long funcionarioId, long authUserId, Secretaria secretaria) {
+        funcionarioOwners.put(funcionarioId, authUserId);
+        if (secretaria != null) {
+            secretarias.put(authUserId, secretaria.ordinal());
+        } else {
+            secretarias.remove(authUserId);
+        }
+    }
+
+    public void funcionarioDeleted(long funcionarioId, long authUserId) {
+        funcionarioOwners.remove(funcionarioId);
+        secretarias.remove(authUserId);
+    }
+
+}
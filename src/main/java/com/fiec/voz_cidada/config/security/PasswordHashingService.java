@@ -0,0 +1,149 @@
+package com.fiec.voz_cidada.config.security;
+
+import com.fiec.voz_cidada.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PasswordEncoder único da aplicação (também usado pelo AuthenticationManager no login).
+ * O BCrypt roda em um pool dedicado e limitado: quando a fila enche, a requisição é recusada
+ * na hora com 503 em vez de prender as threads do Tomcat em hashing.
+ * O custo do BCrypt é calibrado na inicialização para ficar próximo de security.password.target-millis.
+ */
+@Slf4j
+@Component
+public class PasswordHashingService implements PasswordEncoder {
+
+    private static final String BUSY_MESSAGE = "O servidor está ocupado. Tente novamente em instantes.";
+
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long waitTimeout;
+    private final Counter rejected;
+    private final int strength;
+
+    public PasswordHashingService(
+            @Value("${security.password.bcrypt-strength}") int configuredStrength,
+            @Value("${security.password.target-millis}") long targetMillis,
+            @Value("${security.password.min-strength}") int minStrength,
+            @Value("${security.password.max-strength}") int maxStrength,
+            @Value("${security.password.pool-size}") int poolSize,
+            @Value("${security.password.queue-capacity}") int queueCapacity,
+            @Value("${security.password.wait-timeout}") long waitTimeout,
+            MeterRegistry registry)
+    {
+        this.strength = configuredStrength > 0
+                ? configuredStrength
+                : calibrate(targetMillis, minStrength, maxStrength);
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.waitTimeout = waitTimeout;
+
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        new ExecutorServiceMetrics(executor, "auth.password-hashing", Tags.empty()).bindTo(registry);
+        this.rejected = Counter.builder("auth.password-hashing.rejected")
+                .description("Operações de hashing recusadas por fila cheia ou tempo de espera esgotado")
+                .register(registry);
+
+        log.info("BCrypt configurado com custo {} em um pool de {} threads (fila {}).", strength, threads, queueCapacity);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        // Senhas que não são hashes BCrypt (ex.: contas Google) nunca conferem; não vale ocupar o pool com elas
+        if (rawPassword == null || encodedPassword == null || !encodedPassword.startsWith("$2")) {
+            return false;
+        }
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException(BUSY_MESSAGE);
+        }
+        try {
+            return future.get(waitTimeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new ServiceUnavailableException(BUSY_MESSAGE);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(BUSY_MESSAGE);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Escolhe o maior custo cujo hash leva no máximo targetMillis neste hardware.
+     * Cada incremento dobra o tempo, então a calibração custa no máximo ~2x o alvo.
+     */
+    static int calibrate(long targetMillis, int minStrength, int maxStrength) {
+        new BCryptPasswordEncoder(minStrength).encode("warm-up");
+        int chosen = minStrength;
+        for (int candidate = minStrength; candidate <= maxStrength; candidate++) {
+            BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(candidate);
+            long start = System.nanoTime();
+            encoder.encode("calibration");
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (elapsed > targetMillis) {
+                break;
+            }
+            chosen = candidate;
+        }
+        return chosen;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.fiec.voz_cidada.config.security;
+
+import com.fiec.voz_cidada.domain.auth_user.PrincipalSnapshot;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Cache dos usuários autenticados, indexado pelo subject do JWT (ID do AuthUser).
+ * Evita uma consulta à tabela auth_user a cada requisição autenticada. Guarda um PrincipalSnapshot imutável,
+ * e não a entidade: uma entidade desanexada compartilhada entre threads poderia ser alterada por quem a recebe
+ * e lançaria LazyInitializationException ao acessar associações lazy.
+ * As métricas ficam disponíveis em /actuator/metrics/cache.gets e cache.evictions com a tag cache=auth.principal.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<Long, PrincipalSnapshot> cache;
+
+    public PrincipalCache(
+            @Value("${security.principal-cache.max-size}") Long maxSize,
+            @Value("${security.principal-cache.ttl}") Long ttl,
+            MeterRegistry registry)
+    {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "auth.principal");
+    }
+
+    /**
+     * Retorna o usuário em cache ou o carrega com o loader informado.
+     * Resultados nulos não são armazenados.
+     */
+    public PrincipalSnapshot get(Long authUserId, Function<Long, PrincipalSnapshot> loader) {
+        return cache.get(authUserId, loader);
+    }
+
+    /**
+     * Deve ser chamado sempre que senha, status de autenticação, role ou perfil de um AuthUser mudarem.
+     */
+    public void invalidate(Long authUserId) {
+        if (authUserId != null) {
+            cache.invalidate(authUserId);
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.fiec.voz_cidada.config.security;
+
+import com.fiec.voz_cidada.domain.auth_user.AuthUser;
+import com.fiec.voz_cidada.repository.AuthRepository;
+import com.fiec.voz_cidada.repository.RevokedTokenRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conjunto de refresh tokens (jti) já usados. O Bloom filter é o primeiro filtro: um jti ausente nele nunca foi
+ * usado nesta instância e a troca segue sem ir ao banco; só um possível positivo é confirmado na fila pendente e
+ * na tabela revoked_token. As linhas são gravadas em lote a cada flush-interval, fora da requisição, com
+ * INSERT ... ON CONFLICT DO NOTHING. Um conflito nessa gravação é uma reutilização que o filtro local não viu
+ * (o primeiro uso foi em outra instância): os tokens do usuário são revogados com até um flush-interval de atraso.
+ * O filtro é rotacionado a cada validade de refresh token e as linhas expiradas são apagadas.
+ */
+@Slf4j
+@Component
+public class RefreshTokenRevocationStore {
+
+    private record PendingRevocation(LocalDateTime expiresAt, Long authUserId) {}
+
+    private final RevokedTokenRepository repository;
+    private final AuthRepository authRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RotatingBloomFilter filter;
+    private final Map<String, PendingRevocation> pending = new ConcurrentHashMap<>();
+    private final long rotationPeriodNanos;
+    private volatile long lastRotation = System.nanoTime();
+
+    public RefreshTokenRevocationStore(
+            RevokedTokenRepository repository,
+            AuthRepository authRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${security.token.expire-length}") Long expireLength,
+            @Value("${security.refresh-token.revocation.expected-entries}") long expectedEntries,
+            @Value("${security.refresh-token.revocation.false-positive-rate}") double falsePositiveRate)
+    {
+        this.repository = repository;
+        this.authRepository = authRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.filter = new RotatingBloomFilter(expectedEntries, falsePositiveRate);
+        // Mesmo cálculo de validade usado em TokenService.createRefreshToken
+        this.rotationPeriodNanos = TimeUnit.SECONDS.toNanos(expireLength * 24);
+    }
+
+    /**
+     * Marca o jti como usado. A gravação em revoked_token acontece no próximo flush.
+     * @return false se o jti já tinha sido usado (reutilização do mesmo refresh token).
+     */
+    public boolean revoke(String jti, Instant expiresAt, Long authUserId) {
+        if (filter.mightContain(jti)
+                && (pending.containsKey(jti) || repository.existsByJtiAndExpiresAtAfter(jti, LocalDateTime.now()))) {
+            return false;
+        }
+        var revocation = new PendingRevocation(LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()), authUserId);
+        // Duas trocas simultâneas do mesmo jti nesta instância: só uma entra na fila
+        if (pending.putIfAbsent(jti, revocation) != null) {
+            return false;
+        }
+        filter.add(jti);
+        return true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        var active = repository.findActiveJtis(LocalDateTime.now());
+        active.forEach(filter::add);
+        log.info("{} refresh tokens revogados carregados no filtro.", active.size());
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${security.refresh-token.revocation.flush-interval}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<String, PendingRevocation> batch = new HashMap<>(pending);
+        Set<Long> reused;
+        try {
+            reused = transactionTemplate.execute(tx -> {
+                Set<Long> conflicts = new HashSet<>();
+                batch.forEach((jti, revocation) -> {
+                    if (repository.insertIfAbsent(jti, revocation.expiresAt()) == 0) {
+                        conflicts.add(revocation.authUserId());
+                    }
+                });
+                List<AuthUser> users = authRepository.findAllById(conflicts);
+                users.forEach(AuthUser::revokeIssuedTokens);
+                authRepository.saveAll(users);
+                return conflicts;
+            });
+        } catch (RuntimeException e) {
+            // As entradas continuam na fila e são gravadas no próximo flush
+            log.error("Falha ao gravar {} refresh tokens revogados.", batch.size(), e);
+            return;
+        }
+        batch.forEach((jti, revocation) -> {
+            // Garante o jti no filtro antes de sair da fila, para que a próxima consulta chegue ao banco
+            filter.add(jti);
+            pending.remove(jti, revocation);
+        });
+        if (!reused.isEmpty()) {
+            log.warn("Refresh token reutilizado em outra instância. Tokens revogados para os AuthUser IDs {}",
+                    new ArrayList<>(reused));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.refresh-token.revocation.cleanup-interval}")
+    public void cleanup() {
+        if (System.nanoTime() - lastRotation >= rotationPeriodNanos) {
+            filter.rotate();
+            lastRotation = System.nanoTime();
+        }
+        int removed = repository.deleteExpired(LocalDateTime.now());
+        if (removed > 0) {
+            log.info("{} refresh tokens revogados expirados removidos.", removed);
+        }
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.fiec.voz_cidada.config.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter com duas gerações (atual e anterior). Inserções vão para a geração atual e
+ * consultas olham as duas; rotate() descarta a anterior. Rotacionando a cada período P, cada
+ * entrada sobrevive entre P e 2P, sem nunca precisar remover bits.
+ * add/mightContain não alocam: o hash é calculado direto sobre os chars.
+ */
+public class RotatingBloomFilter {
+
+    private final int words;
+    private final long mask;
+    private final int hashes;
+    private volatile AtomicLongArray current;
+    private volatile AtomicLongArray previous;
+
+    public RotatingBloomFilter(long expectedEntries, double falsePositiveRate) {
+        double bits = -expectedEntries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        long size = Long.highestOneBit(Math.max(64L, (long) Math.ceil(bits)) - 1) << 1;
+        this.words = (int) (size >>> 6);
+        this.mask = size - 1;
+        this.hashes = Math.max(1, (int) Math.round((double) size / expectedEntries * Math.log(2)));
+        this.current = new AtomicLongArray(words);
+        this.previous = new AtomicLongArray(words);
+    }
+
+    public void add(CharSequence value) {
+        long hash = hash(value);
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1L;
+        AtomicLongArray bits = current;
+        for (int i = 0; i < hashes; i++) {
+            long index = (h1 + i * h2) & mask;
+            int word = (int) (index >>> 6);
+            long bit = 1L << index;
+            long old;
+            do {
+                old = bits.get(word);
+                if ((old & bit) != 0) break;
+            } while (!bits.compareAndSet(word, old, old | bit));
+        }
+    }
+
+    public boolean mightContain(CharSequence value) {
+        long hash = hash(value);
+        return contains(current, hash) || contains(previous, hash);
+    }
+
+    public synchronized void rotate() {
+        previous = current;
+        current = new AtomicLongArray(words);
+    }
+
+    private boolean contains(AtomicLongArray bits, long hash) {
+        long h1 = hash;
+        long h2 = (hash >>> 32) | 1L;
+        for (int i = 0; i < hashes; i++) {
+            long index = (h1 + i * h2) & mask;
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // FNV-1a 64 bits com o finalizador do MurmurHash3 para espalhar os bits
+    private static long hash(CharSequence value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+}
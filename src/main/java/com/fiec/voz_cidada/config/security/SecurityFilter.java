@@ -1,15 +1,19 @@
 package com.fiec.voz_cidada.config.security;
 
+import com.fiec.voz_cidada.domain.auth_user.PrincipalSnapshot;
 import com.fiec.voz_cidada.exceptions.InvalidAuthenticationException;
 import com.fiec.voz_cidada.repository.AuthRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
@@ -21,10 +25,24 @@ public class SecurityFilter extends OncePerRequestFilter {
 
     private final TokenService service;
     private final AuthRepository repository;
+    private final PrincipalCache principalCache;
+    private final TransactionTemplate primaryRead;
+    private final boolean statelessPrincipal;
 
-    public SecurityFilter(TokenService service, AuthRepository repository) {
+    public SecurityFilter(
+            TokenService service,
+            AuthRepository repository,
+            PrincipalCache principalCache,
+            PlatformTransactionManager transactionManager,
+            @Value("${security.token.stateless-principal}") boolean statelessPrincipal)
+    {
         this.service = service;
         this.repository = repository;
+        this.principalCache = principalCache;
+        // Transação de escrita para a carga ir ao primário: logo depois de uma troca de senha ou de authStatus,
+        // uma réplica atrasada devolveria a linha antiga, que ficaria no cache por todo o TTL
+        this.primaryRead = new TransactionTemplate(transactionManager);
+        this.statelessPrincipal = statelessPrincipal;
     }
 
     private static final List<String> PUBLIC_ENDPOINTS = Arrays.asList(
@@ -54,11 +72,19 @@ public class SecurityFilter extends OncePerRequestFilter {
         }
 
         var token = this.recoverToken(request);
-        if (token != null) {
+        if (token != null && statelessPrincipal) {
+            UserDetails user = service.buildPrincipal(token);
+            var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+        } else if (token != null) {
             var subject = service.validateAccessToken(token);
             if (subject != null && !subject.isEmpty()) {
-                UserDetails user = repository.findById(Long.valueOf(subject))
-                        .orElseThrow(() -> new InvalidAuthenticationException("Nenhum usuário autenticado com o ID: " + subject));
+                PrincipalSnapshot principal = principalCache.get(Long.valueOf(subject),
+                        id -> primaryRead.execute(tx -> repository.findById(id).map(PrincipalSnapshot::of).orElse(null)));
+                if (principal == null) {
+                    throw new InvalidAuthenticationException("Nenhum usuário autenticado com o ID: " + subject);
+                }
+                UserDetails user = principal.toPrincipal();
                 var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
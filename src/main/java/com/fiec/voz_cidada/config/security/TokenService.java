@@ -1,17 +1,34 @@
 package com.fiec.voz_cidada.config.security;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.IncorrectClaimException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.fiec.voz_cidada.domain.auth_user.AuthStatus;
 import com.fiec.voz_cidada.domain.auth_user.AuthUser;
 import com.fiec.voz_cidada.domain.auth_user.LoginResponseDTO;
+import com.fiec.voz_cidada.domain.auth_user.PrincipalSnapshot;
+import com.fiec.voz_cidada.domain.auth_user.UserRole;
+import com.fiec.voz_cidada.domain.chamado.Secretaria;
 import com.fiec.voz_cidada.exceptions.InvalidAuthenticationException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
-import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
 
 @Service
 public class TokenService {
@@ -20,9 +37,52 @@ public class TokenService {
     private String secret;
     @Value("${security.token.expire-length}")
     private Long expireLength;
+    @Value("${security.token.issuer}")
+    private String issuer;
+    @Value("${security.token.verified-cache.max-size}")
+    private Long verifiedCacheMaxSize;
 
     private static final String tokenTypeClaim = "token_type";
     private static final String rolesClaim = "roles";
+    private static final String authStatusClaim = "auth_status";
+    private static final String usuarioIdClaim = "usuario_id";
+    private static final String funcionarioIdClaim = "funcionario_id";
+    private static final String secretariaClaim = "secretaria";
+
+    private Algorithm algorithm;
+    private JWTVerifier accessVerifier;
+    private JWTVerifier refreshVerifier;
+    private Cache<String, DecodedJWT> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        if (issuer == null || issuer.isBlank()) {
+            throw new IllegalStateException("security.token.issuer não configurado.");
+        }
+        algorithm = Algorithm.HMAC256(secret);
+        accessVerifier = JWT.require(algorithm).withIssuer(issuer).withClaim(tokenTypeClaim, "ACCESS").build();
+        refreshVerifier = JWT.require(algorithm).withIssuer(issuer).withClaim(tokenTypeClaim, "REFRESH").build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new Expiry<String, DecodedJWT>() {
+                    @Override
+                    public long expireAfterCreate(String key, DecodedJWT jwt, long currentTime) {
+                        long millis = jwt.getExpiresAtAsInstant().toEpochMilli() - System.currentTimeMillis();
+                        return Math.max(0, millis) * 1_000_000;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, DecodedJWT jwt, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, DecodedJWT jwt, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
 
     public LoginResponseDTO createAuthTokens(AuthUser user) {
         return LoginResponseDTO.builder()
@@ -32,17 +92,26 @@ public class TokenService {
     }
 
     public String createAccessToken(AuthUser user) {
-        Algorithm algorithm = Algorithm.HMAC256(secret);
-        String issuerUrl = ServletUriComponentsBuilder.fromCurrentContextPath().toUriString();
         try {
-            return JWT.create()
-                    .withIssuer(issuerUrl)
+            var builder = JWT.create()
+                    .withIssuer(issuer)
                     .withSubject(String.valueOf(user.getId()))
                     .withClaim(tokenTypeClaim, "ACCESS")
+                    .withIssuedAt(Instant.now())
                     .withClaim(rolesClaim, user.getAuthorities().stream()
                             .map(GrantedAuthority::getAuthority)
                             .toList())
-                    .withClaim("auth_status", user.getAuthStatus().getAuthType())
+                    .withClaim(authStatusClaim, user.getAuthStatus().getAuthType());
+            if (user.getProfile() != null) {
+                builder.withClaim(usuarioIdClaim, user.getProfile().getId());
+            }
+            if (user.getFuncionario() != null) {
+                builder.withClaim(funcionarioIdClaim, user.getFuncionario().getId());
+                if (user.getFuncionario().getSecretaria() != null) {
+                    builder.withClaim(secretariaClaim, user.getFuncionario().getSecretaria().name());
+                }
+            }
+            return builder
                     .withExpiresAt(LocalDateTime.now().plusSeconds(expireLength).toInstant(ZoneOffset.of("-03:00")))
                     .sign(algorithm);
         } catch (InvalidAuthenticationException e) {
@@ -51,13 +120,13 @@ public class TokenService {
     }
 
     private String createRefreshToken(AuthUser user) {
-        Algorithm algorithm = Algorithm.HMAC256(secret);
-        String issuerUrl = ServletUriComponentsBuilder.fromCurrentContextPath().toUriString();
         try {
             return JWT.create()
-                    .withIssuer(issuerUrl)
+                    .withIssuer(issuer)
                     .withSubject(String.valueOf(user.getId()))
                     .withClaim(tokenTypeClaim, "REFRESH")
+                    .withJWTId(UUID.randomUUID().toString())
+                    .withIssuedAt(Instant.now())
                     .withExpiresAt(LocalDateTime.now().plusSeconds(expireLength*24).toInstant(ZoneOffset.of("-03:00")))
                     .sign(algorithm);
         } catch (InvalidAuthenticationException e) {
@@ -65,21 +134,56 @@ public class TokenService {
         }
     }
 
+    /**
+     * Verifica assinatura, issuer, expiração e tipo do token. Tokens já verificados ficam em cache
+     * (chave: SHA-256 do token) até o seu "exp", então requisições repetidas com o mesmo
+     * token não refazem o HMAC nem o parse.
+     */
+    public DecodedJWT verify(String token, String tokenType) {
+        String key = digest(token);
+        DecodedJWT jwt = verifiedTokens.getIfPresent(key);
+        if (jwt == null || jwt.getExpiresAtAsInstant().isBefore(Instant.now())) {
+            jwt = verifierFor(tokenType).verify(token);
+            if (jwt.getExpiresAtAsInstant() != null) {
+                verifiedTokens.put(key, jwt);
+            }
+        } else if (!tokenType.equals(jwt.getClaim(tokenTypeClaim).asString())) {
+            throw new IncorrectClaimException("The Claim '" + tokenTypeClaim + "' value doesn't match the required one.",
+                    tokenTypeClaim, jwt.getClaim(tokenTypeClaim));
+        }
+        return jwt;
+    }
+
     public String getTokenSubject(String token, String tokenType) {
-        Algorithm algorithm = Algorithm.HMAC256(secret);
-        String issuerUrl = ServletUriComponentsBuilder.fromCurrentContextPath().toUriString();
         try {
-            return JWT.require(algorithm)
-                    .withIssuer(issuerUrl)
-                    .withClaim(tokenTypeClaim, tokenType)
-                    .build()
-                    .verify(token)
-                    .getSubject();
+            return verify(token, tokenType).getSubject();
         } catch (InvalidAuthenticationException e) {
             throw new InvalidAuthenticationException("Não foi possível validar a autenticação: " + e.getMessage());
         }
     }
 
+    /**
+     * Monta o principal apenas com as claims do access token (modo stateless), sem consultar o banco.
+     * Alterações de role, perfil ou secretaria só aparecem no próximo token emitido.
+     */
+    public AuthUser buildPrincipal(String accessToken) {
+        DecodedJWT jwt = verify(accessToken, "ACCESS");
+        List<String> roles = jwt.getClaim(rolesClaim).asList(String.class);
+        UserRole role = UserRole.USER;
+        if (roles != null && roles.contains("ROLE_OWNER")) role = UserRole.OWNER;
+        else if (roles != null && roles.contains("ROLE_ADMIN")) role = UserRole.ADMIN;
+
+        String secretaria = jwt.getClaim(secretariaClaim).asString();
+        return new PrincipalSnapshot(
+                Long.valueOf(jwt.getSubject()),
+                role,
+                AuthStatus.valueOf(jwt.getClaim(authStatusClaim).asString()),
+                jwt.getClaim(usuarioIdClaim).asLong(),
+                jwt.getClaim(funcionarioIdClaim).asLong(),
+                secretaria == null ? null : Secretaria.valueOf(secretaria))
+                .toPrincipal();
+    }
+
     public String validateAccessToken(String token) {
         return getTokenSubject(token, "ACCESS");
     }
@@ -88,4 +192,21 @@ public class TokenService {
         return getTokenSubject(token, "REFRESH");
     }
 
+    private JWTVerifier verifierFor(String tokenType) {
+        return switch (tokenType) {
+            case "ACCESS" -> accessVerifier;
+            case "REFRESH" -> refreshVerifier;
+            default -> throw new InvalidAuthenticationException("Tipo de token desconhecido: " + tokenType);
+        };
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
 }
@@ -1,7 +1,9 @@
 package com.fiec.voz_cidada.controller;
 
+import com.fiec.voz_cidada.config.security.LoginThrottle;
 import com.fiec.voz_cidada.domain.auth_user.*;
 import com.fiec.voz_cidada.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -12,15 +14,22 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService service;
+    private final LoginThrottle loginThrottle;
 
     @Autowired
-    public AuthController(AuthService service) {
+    public AuthController(AuthService service, LoginThrottle loginThrottle) {
         this.service = service;
+        this.loginThrottle = loginThrottle;
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody AuthenticationDTO dto){
-        return service.login(dto);
+    public ResponseEntity<?> login(@RequestBody AuthenticationDTO dto, HttpServletRequest request){
+        return service.login(dto, loginThrottle.resolveClientIp(request));
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshTokenDTO dto) {
+        return service.refresh(dto);
     }
 
     @PostMapping("/oauth/google")
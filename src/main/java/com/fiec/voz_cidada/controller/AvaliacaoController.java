@@ -1,17 +1,21 @@
 package com.fiec.voz_cidada.controller;
 
 import com.fiec.voz_cidada.domain.avaliacao.AvaliacaoDTO;
+import com.fiec.voz_cidada.domain.avaliacao.AvaliacaoStats;
 import com.fiec.voz_cidada.service.AvaliacaoService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.time.LocalDate;
     
 @RestController
 @RequestMapping("/api/avaliacao")
@@ -41,6 +45,15 @@ public class AvaliacaoController {
         return service.findById(id);
     }
 
+    @GetMapping("/stats")
+    @PreAuthorize("hasAuthority('ROLE_OWNER')")
+    public ResponseEntity<AvaliacaoStats> stats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+            @RequestParam(required = false) String secretaria) {
+        return service.stats(de, ate, secretaria);
+    }
+
     @PutMapping
     public ResponseEntity<EntityModel<AvaliacaoDTO>> update(@RequestBody AvaliacaoDTO dto) {
         return service.update(dto);
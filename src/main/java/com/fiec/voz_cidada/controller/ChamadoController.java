@@ -2,21 +2,38 @@ package com.fiec.voz_cidada.controller;
 
 import com.fiec.voz_cidada.domain.chamado.ChamadoDTO;
 import com.fiec.voz_cidada.domain.chamado.Chamado;
+import com.fiec.voz_cidada.domain.chamado.ChamadoImportResult;
+import com.fiec.voz_cidada.domain.chamado.ChamadoTransitionRequest;
+import com.fiec.voz_cidada.domain.chamado.ChamadoTransitionResult;
+import com.fiec.voz_cidada.domain.chamado.HeatmapTile;
 import com.fiec.voz_cidada.domain.chamado.Secretaria;
+import com.fiec.voz_cidada.domain.historico.HistoricoDTO;
 import com.fiec.voz_cidada.exceptions.ResourceNotFoundException;
 import com.fiec.voz_cidada.repository.ChamadoRepository;
+import com.fiec.voz_cidada.service.ChamadoArchiveService;
+import com.fiec.voz_cidada.service.ChamadoExportService;
+import com.fiec.voz_cidada.service.ChamadoImportService;
 import com.fiec.voz_cidada.service.ChamadoService;
+import com.fiec.voz_cidada.service.HistoricoService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -26,6 +43,18 @@ public class ChamadoController {
     @Autowired
     private ChamadoService service;
 
+    @Autowired
+    private ChamadoImportService importService;
+
+    @Autowired
+    private ChamadoExportService exportService;
+
+    @Autowired
+    private HistoricoService historicoService;
+
+    @Autowired
+    private ChamadoArchiveService archiveService;
+
     @PostMapping
     public ResponseEntity<EntityModel<ChamadoDTO>> create(@RequestBody ChamadoDTO dto) {
         EntityModel<ChamadoDTO> entityModel = service.create(dto);
@@ -37,24 +66,96 @@ public class ChamadoController {
         return ResponseEntity.created(location).body(entityModel);
     }
 
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<ChamadoImportResult> importChamados(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(importService.importChamados(request.getInputStream()));
+    }
+
     @GetMapping
-    public ResponseEntity<PagedModel<EntityModel<ChamadoDTO>>> findAll(@PageableDefault(size = 10) Pageable pageable) {
-        return service.findAll(pageable);
+    public ResponseEntity<PagedModel<EntityModel<ChamadoDTO>>> findAll(@PageableDefault(size = 10) Pageable pageable,
+                                                                       @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return service.findAll(pageable, ifNoneMatch);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<EntityModel<ChamadoDTO>> findById(@PathVariable Long id) {
-        return service.findById(id);
+    public ResponseEntity<EntityModel<ChamadoDTO>> findById(@PathVariable Long id,
+                                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return service.findById(id, ifNoneMatch);
+    }
+
+    @GetMapping("/{id}/historico")
+    public ResponseEntity<CollectionModel<EntityModel<HistoricoDTO>>> findHistorico(@PathVariable Long id, @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "10") int size) {
+        return historicoService.timeline(id, cursor, size);
+    }
+
+    @GetMapping("/arquivo/{id}")
+    public ResponseEntity<EntityModel<ChamadoDTO>> findArquivado(@PathVariable Long id) {
+        return archiveService.findById(id);
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<PagedModel<EntityModel<ChamadoDTO>>> findByUserId(@PathVariable Long userId, @PageableDefault(size = 10) Pageable pageable) {
-        return service.findByUserId(userId, pageable);
+    public ResponseEntity<PagedModel<EntityModel<ChamadoDTO>>> findByUserId(@PathVariable Long userId, @PageableDefault(size = 10) Pageable pageable,
+                                                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return service.findByUserId(userId, pageable, ifNoneMatch);
     }
 
     @GetMapping("/secretaria/{secretaria}")
-    public ResponseEntity<PagedModel<EntityModel<ChamadoDTO>>> findBySecretaria(@PathVariable String secretaria, @PageableDefault(size = 10) Pageable pageable) {
-        return service.findBySecretaria(secretaria, pageable);
+    public ResponseEntity<PagedModel<EntityModel<ChamadoDTO>>> findBySecretaria(@PathVariable String secretaria, @PageableDefault(size = 10) Pageable pageable,
+                                                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return service.findBySecretaria(secretaria, pageable, ifNoneMatch);
+    }
+
+    @GetMapping("/scroll")
+    public ResponseEntity<CollectionModel<EntityModel<ChamadoDTO>>> scroll(@RequestParam(required = false) String cursor, @RequestParam(defaultValue = "10") int size) {
+        return service.scroll(cursor, size);
+    }
+
+    @GetMapping("/user/{userId}/scroll")
+    public ResponseEntity<CollectionModel<EntityModel<ChamadoDTO>>> scrollByUserId(@PathVariable Long userId, @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "10") int size) {
+        return service.scrollByUserId(userId, cursor, size);
+    }
+
+    @GetMapping("/secretaria/{secretaria}/scroll")
+    public ResponseEntity<CollectionModel<EntityModel<ChamadoDTO>>> scrollBySecretaria(@PathVariable String secretaria, @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "10") int size) {
+        return service.scrollBySecretaria(secretaria, cursor, size);
+    }
+
+    @GetMapping("/near")
+    public ResponseEntity<CollectionModel<EntityModel<ChamadoDTO>>> findNear(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "500") double radius,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String secretaria,
+            @RequestParam(defaultValue = "50") int limit) {
+        return service.findNear(lat, lon, radius, status, secretaria, limit);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<CollectionModel<EntityModel<ChamadoDTO>>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String secretaria,
+            @RequestParam(defaultValue = "20") int limit) {
+        return service.search(q, status, secretaria, limit);
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+            @RequestParam(required = false) String secretaria,
+            @RequestParam(required = false) String status,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return exportService.export(format, de, ate, secretaria, status, ChamadoExportService.acceptsGzip(acceptEncoding));
+    }
+
+    @GetMapping("/tiles/{z}/{x}/{y}")
+    public ResponseEntity<HeatmapTile> findTile(@PathVariable int z, @PathVariable int x, @PathVariable int y) {
+        return service.findTile(z, x, y);
     }
 
     @GetMapping("/count/{secretaria}")
@@ -68,6 +169,12 @@ public class ChamadoController {
         return service.update(dto);
     }
 
+    @PostMapping("/transition")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<ChamadoTransitionResult> transition(@RequestBody ChamadoTransitionRequest request) {
+        return service.transition(request);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         service.delete(id);
@@ -1,16 +1,22 @@
 package com.fiec.voz_cidada.domain.auth_user;
 
+import com.fiec.voz_cidada.config.SecondLevelCacheConfig;
 import com.fiec.voz_cidada.domain.chamado.Chamado;
+import com.fiec.voz_cidada.domain.funcionario.Funcionario;
 import com.fiec.voz_cidada.domain.usuario.Usuario;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Collection;
 import java.util.List;
 
@@ -21,6 +27,8 @@ import java.util.List;
 
 @Table(name = "auth_user")
 @Entity(name = "auth_user")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.AUTH_USER_REGION)
 public class AuthUser implements UserDetails {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -29,6 +37,9 @@ public class AuthUser implements UserDetails {
     @OneToOne(mappedBy = "authUser", cascade = CascadeType.ALL)
     private Usuario profile;
 
+    @OneToOne(mappedBy = "authUser")
+    private Funcionario funcionario;
+
     @OneToMany
     private List<Chamado> chamados;
 
@@ -42,6 +53,9 @@ public class AuthUser implements UserDetails {
     @Enumerated(EnumType.STRING)
     private AuthStatus authStatus;
 
+    // Refresh tokens emitidos antes deste instante são recusados
+    private LocalDateTime tokensValidAfter;
+
     public AuthUser(String login, String password, UserRole role, AuthStatus authStatus) {
         this.login = login;
         this.password = password;
@@ -49,10 +63,30 @@ public class AuthUser implements UserDetails {
         this.authStatus = authStatus;
     }
 
+    /**
+     * Principal leve montado a partir das claims de um access token, sem acesso ao banco.
+     * Perfil e funcionário carregam apenas os IDs (e a secretaria) presentes no token.
+     */
+    public AuthUser(Long id, UserRole role, AuthStatus authStatus, Usuario profile, Funcionario funcionario) {
+        this.id = id;
+        this.role = role;
+        this.authStatus = authStatus;
+        this.profile = profile;
+        this.funcionario = funcionario;
+    }
+
     public void changePassword(String newPassword) {
         this.password = newPassword;
     }
 
+    /**
+     * O iat do JWT tem precisão de segundos: o instante é arredondado para o segundo seguinte para que tokens
+     * emitidos no mesmo segundo da revogação, antes dela, também sejam recusados.
+     */
+    public void revokeIssuedTokens() {
+        this.tokensValidAfter = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+    }
+
     public void updateAuthStatus(String authStatus) {
         this.authStatus = AuthStatus.valueOf(authStatus.toUpperCase());
     }
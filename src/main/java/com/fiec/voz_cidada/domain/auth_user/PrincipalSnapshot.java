@@ -0,0 +1,51 @@
+package com.fiec.voz_cidada.domain.auth_user;
+
+import com.fiec.voz_cidada.domain.chamado.Secretaria;
+import com.fiec.voz_cidada.domain.funcionario.Funcionario;
+import com.fiec.voz_cidada.domain.usuario.Usuario;
+
+/**
+ * Campos do usuário autenticado usados nas checagens de acesso, copiados da entidade ou das claims do token.
+ * Imutável, então pode ficar em cache e ser lido por várias threads; cada requisição recebe um AuthUser leve
+ * próprio (toPrincipal), sem associações lazy e sem estado compartilhado.
+ */
+public record PrincipalSnapshot(
+        Long id,
+        UserRole role,
+        AuthStatus authStatus,
+        Long usuarioId,
+        Long funcionarioId,
+        Secretaria secretaria
+) {
+
+    /**
+     * Lê perfil e funcionário da entidade; deve ser chamado com a sessão que a carregou ainda aberta.
+     */
+    public static PrincipalSnapshot of(AuthUser user) {
+        Usuario profile = user.getProfile();
+        Funcionario funcionario = user.getFuncionario();
+        return new PrincipalSnapshot(
+                user.getId(),
+                user.getRole(),
+                user.getAuthStatus(),
+                profile == null ? null : profile.getId(),
+                funcionario == null ? null : funcionario.getId(),
+                funcionario == null ? null : funcionario.getSecretaria());
+    }
+
+    public AuthUser toPrincipal() {
+        Usuario profile = null;
+        if (usuarioId != null) {
+            profile = new Usuario();
+            profile.setId(usuarioId);
+        }
+        Funcionario funcionario = null;
+        if (funcionarioId != null) {
+            funcionario = new Funcionario();
+            funcionario.setId(funcionarioId);
+            funcionario.setSecretaria(secretaria);
+        }
+        return new AuthUser(id, role, authStatus, profile, funcionario);
+    }
+
+}
@@ -0,0 +1,4 @@
+package com.fiec.voz_cidada.domain.auth_user;
+
+public record RefreshTokenDTO(String refreshToken) {
+}
@@ -0,0 +1,24 @@
+package com.fiec.voz_cidada.domain.auth_user;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "revoked_token")
+public class RevokedToken {
+
+    @Id
+    private String jti;
+
+    private LocalDateTime expiresAt;
+
+}
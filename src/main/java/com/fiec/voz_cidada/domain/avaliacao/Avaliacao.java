@@ -17,7 +17,8 @@ public class Avaliacao implements Serializable {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @OneToOne(cascade = CascadeType.REMOVE)
+    // Sem cascade: excluir a avaliação não pode levar o chamado junto
+    @OneToOne
     @JoinColumn(name = "chamado_id")
     @JsonIgnore
     private Chamado chamado;
@@ -0,0 +1,7 @@
+package com.fiec.voz_cidada.domain.avaliacao;
+
+/**
+ * Publicado pelo AvaliacaoService a cada criação (before nulo), atualização ou exclusão (after nulo).
+ */
+public record AvaliacaoChangedEvent(AvaliacaoSnapshot before, AvaliacaoSnapshot after) {
+}
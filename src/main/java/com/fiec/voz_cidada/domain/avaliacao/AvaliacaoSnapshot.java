@@ -0,0 +1,22 @@
+package com.fiec.voz_cidada.domain.avaliacao;
+
+import com.fiec.voz_cidada.domain.chamado.Secretaria;
+
+import java.time.LocalDateTime;
+
+/**
+ * Campos de uma avaliação que alimentam as estatísticas em memória, copiados no momento da alteração.
+ * A secretaria é a do chamado avaliado.
+ */
+public record AvaliacaoSnapshot(
+        Long id,
+        Secretaria secretaria,
+        LocalDateTime dataAvaliacao,
+        Integer estrelas
+) {
+
+    public static AvaliacaoSnapshot of(Avaliacao avaliacao, Secretaria secretaria) {
+        return new AvaliacaoSnapshot(avaliacao.getId(), secretaria, avaliacao.getDataAvaliacao(), avaliacao.getEstrelas());
+    }
+
+}
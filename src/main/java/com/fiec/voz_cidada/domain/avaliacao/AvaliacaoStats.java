@@ -0,0 +1,20 @@
+package com.fiec.voz_cidada.domain.avaliacao;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estatísticas das avaliações no período: o total de cada secretaria e o detalhamento por semana
+ * (segunda-feira de início). Semanas sem avaliações não são enviadas.
+ */
+public record AvaliacaoStats(LocalDate de, LocalDate ate, List<Bucket> secretarias, List<Bucket> semanas) {
+
+    /**
+     * @param semana     nulo nos totais por secretaria
+     * @param estrelas   quantidade de avaliações com cada nota (1 a 5)
+     */
+    public record Bucket(String secretaria, LocalDate semana, long total, double media, Map<Integer, Long> estrelas) {
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.fiec.voz_cidada.domain.avaliacao;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção da listagem e do detalhe de avaliações: só as colunas de avaliacao, sem carregar
+ * o chamado nem o usuário de cada registro.
+ */
+public record AvaliacaoSummary(
+        Long id,
+        Long chamadoId,
+        Long usuarioId,
+        Integer estrelas,
+        String comentario,
+        LocalDateTime dataAvaliacao
+) {
+
+    public AvaliacaoDTO toDto() {
+        AvaliacaoDTO dto = new AvaliacaoDTO();
+        dto.setId(id);
+        dto.setChamadoId(chamadoId);
+        dto.setUsuarioId(usuarioId);
+        dto.setEstrelas(estrelas);
+        dto.setComentario(comentario);
+        dto.setDataAvaliacao(dataAvaliacao);
+        return dto;
+    }
+
+}
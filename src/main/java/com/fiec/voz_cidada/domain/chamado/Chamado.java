@@ -8,8 +8,6 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.Getter;
 import lombok.Setter;
-import org.hibernate.annotations.Fetch;
-import org.hibernate.annotations.FetchMode;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
@@ -23,8 +21,10 @@ import java.util.Objects;
 @Table(name = "chamado")
 public class Chamado implements Serializable {
 
+    // SEQUENCE em vez de IDENTITY: o Hibernate reserva 50 IDs por nextval e consegue agrupar os INSERTs em lote
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chamado_seq")
+    @SequenceGenerator(name = "chamado_seq", sequenceName = "chamado_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -36,7 +36,6 @@ public class Chamado implements Serializable {
     private AuthUser authUser;
 
     @OneToMany(mappedBy = "chamado", orphanRemoval = true)
-    @Fetch(FetchMode.JOIN)
     private List<HistoricoChamado> historicos;
 
     @OneToOne(mappedBy = "chamado", cascade = CascadeType.REMOVE)
@@ -54,6 +53,11 @@ public class Chamado implements Serializable {
     private BigDecimal latitude;
     private BigDecimal longitude;
 
+    // Incrementada a cada alteração do chamado, do histórico ou da avaliação; vira o ETag do detalhe.
+    // Primitivo de propósito: referências montadas só com o ID (new Chamado() + setId) não viram "transientes".
+    @Version
+    private long version;
+
 
 
 }
\ No newline at end of file
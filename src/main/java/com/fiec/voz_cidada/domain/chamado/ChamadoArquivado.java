@@ -0,0 +1,32 @@
+package com.fiec.voz_cidada.domain.chamado;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Chamado retirado das tabelas particionadas pelo arquivamento. O conteúdo é o ChamadoDTO completo
+ * (com histórico e avaliação) em JSON comprimido com gzip; só é consultado pelo ID.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "chamado_arquivo")
+public class ChamadoArquivado {
+
+    @Id
+    private Long id;
+
+    private LocalDateTime dataAbertura;
+
+    private LocalDateTime arquivadoEm;
+
+    private byte[] conteudo;
+
+}
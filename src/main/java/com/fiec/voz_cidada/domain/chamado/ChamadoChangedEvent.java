@@ -0,0 +1,7 @@
+package com.fiec.voz_cidada.domain.chamado;
+
+/**
+ * Publicado pelo ChamadoService a cada criação (before nulo), atualização ou exclusão (after nulo).
+ */
+public record ChamadoChangedEvent(ChamadoSnapshot before, ChamadoSnapshot after) {
+}
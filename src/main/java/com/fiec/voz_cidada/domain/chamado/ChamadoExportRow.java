@@ -0,0 +1,25 @@
+package com.fiec.voz_cidada.domain.chamado;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Linha da exportação: colunas da tabela chamado, sem histórico nem avaliação.
+ */
+public record ChamadoExportRow(
+        Long id,
+        Long usuarioId,
+        String titulo,
+        String descricao,
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        LocalDateTime dataAbertura,
+        String status,
+        Secretaria secretaria,
+        BigDecimal latitude,
+        BigDecimal longitude,
+        String fotoAntesUrl,
+        String fotoDepoisUrl
+) {
+}
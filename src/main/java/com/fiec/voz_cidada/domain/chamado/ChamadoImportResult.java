@@ -0,0 +1,14 @@
+package com.fiec.voz_cidada.domain.chamado;
+
+import java.util.List;
+
+/**
+ * Resultado de uma importação em lote. row é a posição do item na entrada (começando em 1).
+ * errors é limitado a chamado.import.max-errors itens; failed conta todos.
+ */
+public record ChamadoImportResult(int received, int imported, int failed, List<RowError> errors) {
+
+    public record RowError(int row, String message) {
+    }
+
+}
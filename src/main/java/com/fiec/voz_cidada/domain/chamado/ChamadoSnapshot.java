@@ -0,0 +1,36 @@
+package com.fiec.voz_cidada.domain.chamado;
+
+import java.math.BigDecimal;
+
+/**
+ * Campos de um chamado que alimentam os agregados em memória, copiados no momento da alteração.
+ */
+public record ChamadoSnapshot(
+        Long id,
+        Secretaria secretaria,
+        String status,
+        BigDecimal latitude,
+        BigDecimal longitude,
+        String titulo,
+        String descricao
+) {
+
+    /**
+     * Sem texto; usado pelas projeções que só precisam de localização, status e secretaria.
+     */
+    public ChamadoSnapshot(Long id, Secretaria secretaria, String status, BigDecimal latitude, BigDecimal longitude) {
+        this(id, secretaria, status, latitude, longitude, null, null);
+    }
+
+    public static ChamadoSnapshot of(Chamado chamado) {
+        return new ChamadoSnapshot(
+                chamado.getId(),
+                chamado.getSecretaria(),
+                chamado.getStatus(),
+                chamado.getLatitude(),
+                chamado.getLongitude(),
+                chamado.getTitulo(),
+                chamado.getDescricao());
+    }
+
+}
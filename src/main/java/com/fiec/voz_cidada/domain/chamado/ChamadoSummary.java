@@ -0,0 +1,41 @@
+package com.fiec.voz_cidada.domain.chamado;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Projeção usada pelas listagens: só as colunas da tabela chamado que a lista exibe.
+ * Não carrega descricao, avaliação nem histórico; esses ficam para o detalhe (GET /api/chamado/{id}).
+ */
+public record ChamadoSummary(
+        Long id,
+        Long usuarioId,
+        Long authUserId,
+        String titulo,
+        LocalDateTime dataAbertura,
+        String status,
+        String fotoAntesUrl,
+        String fotoDepoisUrl,
+        Secretaria secretaria,
+        BigDecimal latitude,
+        BigDecimal longitude,
+        Long version
+) {
+
+    public ChamadoDTO toDto() {
+        ChamadoDTO dto = new ChamadoDTO();
+        dto.setId(id);
+        dto.setUsuarioId(usuarioId);
+        dto.setAuthUserId(authUserId);
+        dto.setTitulo(titulo);
+        dto.setDataAbertura(dataAbertura);
+        dto.setStatus(status);
+        dto.setFotoAntesUrl(fotoAntesUrl);
+        dto.setFotoDepoisUrl(fotoDepoisUrl);
+        dto.setSecretaria(secretaria != null ? secretaria.name() : null);
+        dto.setLatitude(latitude);
+        dto.setLongitude(longitude);
+        return dto;
+    }
+
+}
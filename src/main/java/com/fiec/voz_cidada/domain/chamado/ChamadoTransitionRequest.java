@@ -0,0 +1,14 @@
+package com.fiec.voz_cidada.domain.chamado;
+
+import java.util.List;
+
+/**
+ * Transição de status em lote: só os chamados que ainda estão em statusAnterior passam para statusNovo.
+ */
+public record ChamadoTransitionRequest(
+        List<Long> ids,
+        String statusAnterior,
+        String statusNovo,
+        String observacao
+) {
+}
@@ -0,0 +1,19 @@
+package com.fiec.voz_cidada.domain.chamado;
+
+import java.util.Map;
+
+/**
+ * Resultado por ID de uma transição em lote, na ordem em que os IDs foram enviados.
+ */
+public record ChamadoTransitionResult(int updated, Map<Long, Outcome> results) {
+
+    public enum Outcome {
+        UPDATED,
+        NOT_FOUND,
+        // O chamado não estava mais no status esperado (alterado por outra pessoa)
+        STATUS_CONFLICT,
+        // O chamado é de outra secretaria
+        FORBIDDEN
+    }
+
+}
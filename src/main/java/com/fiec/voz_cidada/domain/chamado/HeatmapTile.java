@@ -0,0 +1,15 @@
+package com.fiec.voz_cidada.domain.chamado;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tile z/x/y do mapa de calor: até size x size células, cada uma com o total e as contagens por
+ * status e por secretaria. Células vazias não são enviadas.
+ */
+public record HeatmapTile(int z, int x, int y, int size, List<Cell> cells) {
+
+    public record Cell(int row, int column, int total, Map<String, Integer> byStatus, Map<String, Integer> bySecretaria) {
+    }
+
+}
@@ -1,9 +1,12 @@
 package com.fiec.voz_cidada.domain.funcionario;
 
+import com.fiec.voz_cidada.config.SecondLevelCacheConfig;
 import com.fiec.voz_cidada.domain.auth_user.AuthUser;
 import com.fiec.voz_cidada.domain.chamado.Secretaria;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
@@ -11,6 +14,8 @@ import java.time.LocalDateTime;
 @Data
 @Entity
 @Table(name = "funcionario_prefeitura")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.FUNCIONARIO_REGION)
 public class Funcionario implements Serializable {
 
     @Id
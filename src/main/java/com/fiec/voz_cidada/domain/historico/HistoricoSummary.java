@@ -0,0 +1,31 @@
+package com.fiec.voz_cidada.domain.historico;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção da linha do tempo de um chamado: só as colunas de historico_chamado, sem carregar
+ * o chamado nem o funcionário de cada registro.
+ */
+public record HistoricoSummary(
+        Long id,
+        Long chamadoId,
+        Long funcionarioId,
+        LocalDateTime dataModificacao,
+        String statusAnterior,
+        String statusNovo,
+        String observacao
+) {
+
+    public HistoricoDTO toDto() {
+        HistoricoDTO dto = new HistoricoDTO();
+        dto.setId(id);
+        dto.setChamadoId(chamadoId);
+        dto.setFuncionarioId(funcionarioId);
+        dto.setDataModificacao(dataModificacao);
+        dto.setStatusAnterior(statusAnterior);
+        dto.setStatusNovo(statusNovo);
+        dto.setObservacao(observacao);
+        return dto;
+    }
+
+}
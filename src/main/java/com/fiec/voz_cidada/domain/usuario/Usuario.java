@@ -1,10 +1,13 @@
 package com.fiec.voz_cidada.domain.usuario;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fiec.voz_cidada.config.SecondLevelCacheConfig;
 import com.fiec.voz_cidada.domain.auth_user.AuthUser;
 import com.fiec.voz_cidada.domain.chamado.Chamado;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.io.Serializable;
 import java.time.LocalDate;
@@ -14,6 +17,8 @@ import java.util.List;
 @Data
 @Entity
 @Table(name = "usuario")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.USUARIO_REGION)
 public class Usuario implements Serializable {
     private static final long serialVersionUID = 1L;
 
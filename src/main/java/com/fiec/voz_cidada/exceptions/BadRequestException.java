@@ -0,0 +1,7 @@
+package com.fiec.voz_cidada.exceptions;
+
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -3,6 +3,7 @@ package com.fiec.voz_cidada.exceptions;
 import io.swagger.v3.oas.annotations.Hidden;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -42,6 +43,19 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(status).body(error);
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<StandardError> handleBadRequestException(BadRequestException ex, HttpServletRequest request) {
+        logError(ex);
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        StandardError error = StandardError.builder()
+                .timestamp(Instant.now())
+                .status(status.value())
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+        return ResponseEntity.status(status).body(error);
+    }
+
     @ExceptionHandler(UnauthorizedException.class)
     public ResponseEntity<StandardError> handleUnauthorizedException(UnauthorizedException ex, HttpServletRequest request) {
         logError(ex);
@@ -81,6 +95,34 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<StandardError> handleServiceUnavailable(ServiceUnavailableException ex, HttpServletRequest request) {
+        logError(ex);
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        StandardError error = StandardError.builder()
+                .timestamp(Instant.now())
+                .status(status.value())
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+        return ResponseEntity.status(status).body(error);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<StandardError> handleTooManyRequests(TooManyRequestsException ex, HttpServletRequest request) {
+        logError(ex);
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+        StandardError error = StandardError.builder()
+                .timestamp(Instant.now())
+                .status(status.value())
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
     private void logError(Throwable ex) {
         StackTraceElement[] stackTrace = ex.getStackTrace();
         if (stackTrace.length > 0) {
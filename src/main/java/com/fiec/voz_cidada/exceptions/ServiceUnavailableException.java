@@ -0,0 +1,7 @@
+package com.fiec.voz_cidada.exceptions;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,280 @@
+package com.fiec.voz_cidada.geo;
+
+import com.fiec.voz_cidada.util.LongLongHashMap;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice espacial em grade uniforme (células de cellSizeMeters em graus de latitude/longitude).
+ * Os pontos de cada célula ficam contíguos em arrays primitivos (id, lat, lon, status, secretaria),
+ * então uma busca por raio percorre só as células que cruzam o retângulo envolvente do círculo.
+ * Leituras concorrentes; escritas exclusivas.
+ */
+public class SpatialGrid {
+
+    /** Filtro "qualquer valor" para status e secretaria. */
+    public static final int ANY = Integer.MIN_VALUE;
+
+    private static final double METERS_PER_DEGREE = 111_320d;
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8d;
+    private static final long NO_CELL = Long.MIN_VALUE + 1;
+
+    private final double cellDegrees;
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private final LongLongHashMap cellById;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public SpatialGrid(double cellSizeMeters, int expectedPoints) {
+        this.cellDegrees = cellSizeMeters / METERS_PER_DEGREE;
+        this.cellById = new LongLongHashMap(expectedPoints);
+    }
+
+    /**
+     * Insere ou move o ponto do id informado.
+     */
+    public void put(long id, double lat, double lon, int status, int secretaria) {
+        long cellKey = cellKey(row(lat), column(lon));
+        lock.writeLock().lock();
+        try {
+            long previous = cellById.put(id, cellKey, NO_CELL);
+            if (previous != NO_CELL) {
+                removeFromCell(previous, id);
+            }
+            cells.computeIfAbsent(cellKey, key -> new Cell()).add(id, lat, lon, status, secretaria);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            long cellKey = cellById.remove(id, NO_CELL);
+            if (cellKey == NO_CELL) {
+                return false;
+            }
+            removeFromCell(cellKey, id);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            cells.clear();
+            cellById.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return cellById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Os limit pontos mais próximos dentro do raio, do mais perto para o mais longe.
+     */
+    public List<Hit> near(double lat, double lon, double radiusMeters, int status, int secretaria, int limit) {
+        double latDelta = radiusMeters / METERS_PER_DEGREE;
+        double lonDelta = radiusMeters / (METERS_PER_DEGREE * Math.max(Math.cos(Math.toRadians(lat)), 1e-6));
+        double minLat = lat - latDelta;
+        double maxLat = lat + latDelta;
+        double minLon = lon - lonDelta;
+        double maxLon = lon + lonDelta;
+
+        TopK top = new TopK(limit);
+        lock.readLock().lock();
+        try {
+            int lastRow = row(maxLat);
+            int lastColumn = column(maxLon);
+            for (int row = row(minLat); row <= lastRow; row++) {
+                for (int column = column(minLon); column <= lastColumn; column++) {
+                    Cell cell = cells.get(cellKey(row, column));
+                    if (cell != null) {
+                        cell.collect(lat, lon, minLat, maxLat, minLon, maxLon, radiusMeters, status, secretaria, top);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return top.sorted();
+    }
+
+    private void removeFromCell(long cellKey, long id) {
+        Cell cell = cells.get(cellKey);
+        if (cell != null && cell.remove(id) && cell.size == 0) {
+            cells.remove(cellKey);
+        }
+    }
+
+    private int row(double lat) {
+        return (int) Math.floor((lat + 90d) / cellDegrees);
+    }
+
+    private int column(double lon) {
+        return (int) Math.floor((lon + 180d) / cellDegrees);
+    }
+
+    private static long cellKey(int row, int column) {
+        return ((long) row << 32) | (column & 0xffffffffL);
+    }
+
+    public static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1d, Math.sqrt(a)));
+    }
+
+    public record Hit(long id, double distanceMeters) {
+    }
+
+    private static final class Cell {
+        long[] ids = new long[4];
+        double[] lats = new double[4];
+        double[] lons = new double[4];
+        int[] statuses = new int[4];
+        int[] secretarias = new int[4];
+        int size;
+
+        void add(long id, double lat, double lon, int status, int secretaria) {
+            if (size == ids.length) {
+                int capacity = size << 1;
+                ids = Arrays.copyOf(ids, capacity);
+                lats = Arrays.copyOf(lats, capacity);
+                lons = Arrays.copyOf(lons, capacity);
+                statuses = Arrays.copyOf(statuses, capacity);
+                secretarias = Arrays.copyOf(secretarias, capacity);
+            }
+            ids[size] = id;
+            lats[size] = lat;
+            lons[size] = lon;
+            statuses[size] = status;
+            secretarias[size] = secretaria;
+            size++;
+        }
+
+        // Troca com o último: a ordem dentro da célula não importa
+        boolean remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    int last = --size;
+                    ids[i] = ids[last];
+                    lats[i] = lats[last];
+                    lons[i] = lons[last];
+                    statuses[i] = statuses[last];
+                    secretarias[i] = secretarias[last];
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void collect(double lat, double lon, double minLat, double maxLat, double minLon, double maxLon,
+                     double radiusMeters, int status, int secretaria, TopK top) {
+            for (int i = 0; i < size; i++) {
+                if ((status != ANY && statuses[i] != status) || (secretaria != ANY && secretarias[i] != secretaria)) {
+                    continue;
+                }
+                double pointLat = lats[i];
+                double pointLon = lons[i];
+                if (pointLat < minLat || pointLat > maxLat || pointLon < minLon || pointLon > maxLon) {
+                    continue;
+                }
+                double distance = distanceMeters(lat, lon, pointLat, pointLon);
+                if (distance <= radiusMeters) {
+                    top.offer(ids[i], distance);
+                }
+            }
+        }
+    }
+
+    /**
+     * Max-heap de tamanho limit sobre arrays primitivos: mantém os limit menores.
+     */
+    private static final class TopK {
+        final long[] ids;
+        final double[] distances;
+        int size;
+
+        TopK(int limit) {
+            ids = new long[limit];
+            distances = new double[limit];
+        }
+
+        void offer(long id, double distance) {
+            if (size < ids.length) {
+                ids[size] = id;
+                distances[size] = distance;
+                siftUp(size++);
+            } else if (size > 0 && distance < distances[0]) {
+                ids[0] = id;
+                distances[0] = distance;
+                siftDown(0);
+            }
+        }
+
+        List<Hit> sorted() {
+            Hit[] result = new Hit[size];
+            for (int i = size - 1; i >= 0; i--) {
+                result[i] = new Hit(ids[0], distances[0]);
+                size--;
+                ids[0] = ids[size];
+                distances[0] = distances[size];
+                siftDown(0);
+            }
+            return List.of(result);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (distances[parent] >= distances[index]) {
+                    break;
+                }
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int left = (index << 1) + 1;
+                if (left >= size) {
+                    break;
+                }
+                int largest = left + 1 < size && distances[left + 1] > distances[left] ? left + 1 : left;
+                if (distances[index] >= distances[largest]) {
+                    break;
+                }
+                swap(index, largest);
+                index = largest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            double distance = distances[a];
+            distances[a] = distances[b];
+            distances[b] = distance;
+        }
+    }
+
+}
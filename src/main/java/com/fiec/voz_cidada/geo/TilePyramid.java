@@ -0,0 +1,170 @@
+package com.fiec.voz_cidada.geo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Contagens agregadas em tiles Web Mercator (z/x/y) de minZoom a maxZoom. Cada tile é dividido em
+ * CELLS x CELLS células, e cada célula guarda o total e as contagens por código de status e de secretaria.
+ * Um ponto incrementa uma célula por nível (O(níveis)); ler um tile custa no máximo CELLS² células,
+ * independente de quantos pontos existam.
+ */
+public class TilePyramid {
+
+    public static final int CELL_BITS = 5;
+    public static final int CELLS = 1 << CELL_BITS;
+    private static final double MAX_LATITUDE = 85.05112878;
+
+    private final int minZoom;
+    private final int maxZoom;
+    private final List<Map<Long, Tile>> levels = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public TilePyramid(int minZoom, int maxZoom) {
+        if (minZoom < 0 || maxZoom < minZoom || maxZoom + CELL_BITS > 30) {
+            throw new IllegalArgumentException("Níveis de zoom inválidos: " + minZoom + ".." + maxZoom);
+        }
+        this.minZoom = minZoom;
+        this.maxZoom = maxZoom;
+        for (int z = minZoom; z <= maxZoom; z++) {
+            levels.add(new HashMap<>());
+        }
+    }
+
+    public int getMinZoom() {
+        return minZoom;
+    }
+
+    public int getMaxZoom() {
+        return maxZoom;
+    }
+
+    /**
+     * Soma delta (1 ou -1) ao ponto em todos os níveis.
+     */
+    public void add(double lat, double lon, int statusCode, int secretariaCode, int delta) {
+        int bits = maxZoom + CELL_BITS;
+        long pixelX = pixelX(lon, bits);
+        long pixelY = pixelY(lat, bits);
+        lock.writeLock().lock();
+        try {
+            for (int z = maxZoom; z >= minZoom; z--) {
+                int shift = maxZoom - z;
+                long cellX = pixelX >> shift;
+                long cellY = pixelY >> shift;
+                long tileKey = tileKey(cellX >> CELL_BITS, cellY >> CELL_BITS);
+                Map<Long, Tile> level = levels.get(z - minZoom);
+                Tile tile = level.computeIfAbsent(tileKey, key -> new Tile());
+                int index = (int) ((cellY & (CELLS - 1)) << CELL_BITS | (cellX & (CELLS - 1)));
+                tile.add(index, statusCode, secretariaCode, delta);
+                if (tile.occupied == 0) {
+                    level.remove(tileKey);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Cópia das células não vazias do tile, ou lista vazia.
+     */
+    public List<CellCounts> tile(int z, int x, int y) {
+        if (z < minZoom || z > maxZoom) {
+            throw new IllegalArgumentException("Zoom fora do intervalo " + minZoom + ".." + maxZoom);
+        }
+        lock.readLock().lock();
+        try {
+            Tile tile = levels.get(z - minZoom).get(tileKey(x, y));
+            if (tile == null) {
+                return List.of();
+            }
+            List<CellCounts> result = new ArrayList<>(tile.occupied);
+            for (int index = 0; index < CELLS * CELLS; index++) {
+                if (tile.totals[index] > 0) {
+                    result.add(new CellCounts(
+                            index >> CELL_BITS,
+                            index & (CELLS - 1),
+                            tile.totals[index],
+                            tile.byStatus[index].clone(),
+                            tile.bySecretaria[index].clone()));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            levels.forEach(Map::clear);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static long pixelX(double lon, int bits) {
+        double x = (lon + 180d) / 360d;
+        return clamp((long) Math.floor(x * (1L << bits)), bits);
+    }
+
+    private static long pixelY(double lat, int bits) {
+        double radians = Math.toRadians(Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, lat)));
+        double y = (1d - Math.log(Math.tan(radians) + 1d / Math.cos(radians)) / Math.PI) / 2d;
+        return clamp((long) Math.floor(y * (1L << bits)), bits);
+    }
+
+    private static long clamp(long pixel, int bits) {
+        return Math.max(0, Math.min((1L << bits) - 1, pixel));
+    }
+
+    private static long tileKey(long x, long y) {
+        return (x << 32) | (y & 0xffffffffL);
+    }
+
+    /**
+     * @param byStatus     contagem por código de status (índice = código)
+     * @param bySecretaria contagem por código de secretaria (índice = código)
+     */
+    public record CellCounts(int row, int column, int total, int[] byStatus, int[] bySecretaria) {
+    }
+
+    private static final class Tile {
+        final int[] totals = new int[CELLS * CELLS];
+        final int[][] byStatus = new int[CELLS * CELLS][];
+        final int[][] bySecretaria = new int[CELLS * CELLS][];
+        int occupied;
+
+        void add(int index, int statusCode, int secretariaCode, int delta) {
+            int before = totals[index];
+            totals[index] = before + delta;
+            byStatus[index] = increment(byStatus[index], statusCode, delta);
+            bySecretaria[index] = increment(bySecretaria[index], secretariaCode, delta);
+            if (before == 0 && totals[index] > 0) {
+                occupied++;
+            } else if (before > 0 && totals[index] == 0) {
+                occupied--;
+                byStatus[index] = null;
+                bySecretaria[index] = null;
+            }
+        }
+
+        private static int[] increment(int[] counts, int code, int delta) {
+            if (counts == null) {
+                counts = new int[code + 1];
+            } else if (code >= counts.length) {
+                counts = Arrays.copyOf(counts, code + 1);
+            }
+            counts[code] += delta;
+            return counts;
+        }
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.fiec.voz_cidada.mapper;
+
+import com.fiec.voz_cidada.domain.avaliacao.Avaliacao;
+import com.fiec.voz_cidada.domain.avaliacao.AvaliacaoDTO;
+import com.fiec.voz_cidada.domain.chamado.Chamado;
+import com.fiec.voz_cidada.domain.usuario.Usuario;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AvaliacaoMapper implements DtoMapper<Avaliacao, AvaliacaoDTO> {
+
+    @Override
+    public AvaliacaoDTO toDto(Avaliacao entity) {
+        AvaliacaoDTO dto = new AvaliacaoDTO();
+        dto.setId(entity.getId());
+        dto.setChamadoId(entity.getChamado() != null ? entity.getChamado().getId() : null);
+        dto.setUsuarioId(entity.getUsuario() != null ? entity.getUsuario().getId() : null);
+        dto.setEstrelas(entity.getEstrelas());
+        dto.setComentario(entity.getComentario());
+        dto.setDataAvaliacao(entity.getDataAvaliacao());
+        return dto;
+    }
+
+    @Override
+    public Avaliacao toEntity(AvaliacaoDTO dto) {
+        Avaliacao entity = new Avaliacao();
+        entity.setId(dto.getId());
+        if (dto.getChamadoId() != null) {
+            Chamado chamado = new Chamado();
+            chamado.setId(dto.getChamadoId());
+            entity.setChamado(chamado);
+        }
+        if (dto.getUsuarioId() != null) {
+            Usuario usuario = new Usuario();
+            usuario.setId(dto.getUsuarioId());
+            entity.setUsuario(usuario);
+        }
+        updateEntity(dto, entity);
+        return entity;
+    }
+
+    @Override
+    public void updateEntity(AvaliacaoDTO dto, Avaliacao entity) {
+        entity.setEstrelas(dto.getEstrelas());
+        entity.setComentario(dto.getComentario());
+        entity.setDataAvaliacao(dto.getDataAvaliacao());
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.fiec.voz_cidada.mapper;
+
+import com.fiec.voz_cidada.domain.auth_user.AuthUser;
+import com.fiec.voz_cidada.domain.chamado.Chamado;
+import com.fiec.voz_cidada.domain.chamado.ChamadoDTO;
+import com.fiec.voz_cidada.domain.chamado.Secretaria;
+import com.fiec.voz_cidada.domain.historico.HistoricoChamado;
+import com.fiec.voz_cidada.domain.historico.HistoricoDTO;
+import com.fiec.voz_cidada.domain.usuario.Usuario;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class ChamadoMapper implements DtoMapper<Chamado, ChamadoDTO> {
+
+    private final AvaliacaoMapper avaliacaoMapper;
+    private final HistoricoMapper historicoMapper;
+
+    public ChamadoMapper(AvaliacaoMapper avaliacaoMapper, HistoricoMapper historicoMapper) {
+        this.avaliacaoMapper = avaliacaoMapper;
+        this.historicoMapper = historicoMapper;
+    }
+
+    @Override
+    public ChamadoDTO toDto(Chamado entity) {
+        ChamadoDTO dto = new ChamadoDTO();
+        dto.setId(entity.getId());
+        dto.setUsuarioId(entity.getUsuario() != null ? entity.getUsuario().getId() : null);
+        dto.setAuthUserId(entity.getAuthUser() != null ? entity.getAuthUser().getId() : null);
+        dto.setTitulo(entity.getTitulo());
+        dto.setDescricao(entity.getDescricao());
+        dto.setDataAbertura(entity.getDataAbertura());
+        dto.setStatus(entity.getStatus());
+        dto.setFotoAntesUrl(entity.getFotoAntesUrl());
+        dto.setFotoDepoisUrl(entity.getFotoDepoisUrl());
+        dto.setSecretaria(entity.getSecretaria() != null ? entity.getSecretaria().name() : null);
+        dto.setLatitude(entity.getLatitude());
+        dto.setLongitude(entity.getLongitude());
+        if (entity.getAvaliacao() != null) {
+            dto.setAvaliacao(avaliacaoMapper.toDto(entity.getAvaliacao()));
+        }
+        if (entity.getHistoricos() != null) {
+            List<HistoricoDTO> historicos = new ArrayList<>(entity.getHistoricos().size());
+            for (HistoricoChamado historico : entity.getHistoricos()) {
+                historicos.add(historicoMapper.toDto(historico));
+            }
+            dto.setHistoricos(historicos);
+        }
+        return dto;
+    }
+
+    @Override
+    public Chamado toEntity(ChamadoDTO dto) {
+        Chamado entity = new Chamado();
+        entity.setId(dto.getId());
+        if (dto.getUsuarioId() != null) {
+            Usuario usuario = new Usuario();
+            usuario.setId(dto.getUsuarioId());
+            entity.setUsuario(usuario);
+        }
+        if (dto.getAuthUserId() != null) {
+            entity.setAuthUser(new AuthUser(dto.getAuthUserId(), null, null, null, null));
+        }
+        updateEntity(dto, entity);
+        return entity;
+    }
+
+    // Histórico e avaliação têm endpoints próprios; aqui só entram os campos do chamado
+    @Override
+    public void updateEntity(ChamadoDTO dto, Chamado entity) {
+        entity.setTitulo(dto.getTitulo());
+        entity.setDescricao(dto.getDescricao());
+        entity.setDataAbertura(dto.getDataAbertura());
+        entity.setStatus(dto.getStatus());
+        entity.setFotoAntesUrl(dto.getFotoAntesUrl());
+        entity.setFotoDepoisUrl(dto.getFotoDepoisUrl());
+        entity.setSecretaria(dto.getSecretaria() != null ? Secretaria.valueOf(dto.getSecretaria()) : null);
+        entity.setLatitude(dto.getLatitude());
+        entity.setLongitude(dto.getLongitude());
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.fiec.voz_cidada.mapper;
+
+/**
+ * Conversão entidade <-> DTO escrita à mão, sem reflexão.
+ * Associações entram no DTO só pelo ID; no sentido DTO -> entidade viram referências contendo apenas o ID,
+ * que o Hibernate grava como chave estrangeira.
+ */
+public interface DtoMapper<T, D> {
+
+    D toDto(T entity);
+
+    T toEntity(D dto);
+
+    /**
+     * Copia os campos editáveis do DTO para uma entidade já carregada (inclusive nulos).
+     * ID e associações de dono não são alterados.
+     */
+    void updateEntity(D dto, T entity);
+
+}
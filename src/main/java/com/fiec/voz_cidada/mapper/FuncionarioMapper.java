@@ -0,0 +1,39 @@
+package com.fiec.voz_cidada.mapper;
+
+import com.fiec.voz_cidada.domain.funcionario.Funcionario;
+import com.fiec.voz_cidada.domain.funcionario.FuncionarioDTO;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FuncionarioMapper implements DtoMapper<Funcionario, FuncionarioDTO> {
+
+    @Override
+    public FuncionarioDTO toDto(Funcionario entity) {
+        FuncionarioDTO dto = new FuncionarioDTO();
+        dto.setId(entity.getId());
+        dto.setAuthId(entity.getAuthUser() != null ? entity.getAuthUser().getId() : null);
+        dto.setCpf(entity.getCpf());
+        dto.setCargo(entity.getCargo());
+        dto.setSecretaria(entity.getSecretaria());
+        dto.setDataCadastro(entity.getDataCadastro());
+        return dto;
+    }
+
+    // authUser é sempre atribuído pelo serviço a partir do usuário autenticado
+    @Override
+    public Funcionario toEntity(FuncionarioDTO dto) {
+        Funcionario entity = new Funcionario();
+        entity.setId(dto.getId());
+        updateEntity(dto, entity);
+        return entity;
+    }
+
+    @Override
+    public void updateEntity(FuncionarioDTO dto, Funcionario entity) {
+        entity.setCpf(dto.getCpf());
+        entity.setCargo(dto.getCargo());
+        entity.setSecretaria(dto.getSecretaria());
+        entity.setDataCadastro(dto.getDataCadastro());
+    }
+
+}
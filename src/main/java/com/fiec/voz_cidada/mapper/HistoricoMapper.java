@@ -0,0 +1,51 @@
+package com.fiec.voz_cidada.mapper;
+
+import com.fiec.voz_cidada.domain.chamado.Chamado;
+import com.fiec.voz_cidada.domain.funcionario.Funcionario;
+import com.fiec.voz_cidada.domain.historico.HistoricoChamado;
+import com.fiec.voz_cidada.domain.historico.HistoricoDTO;
+import org.springframework.stereotype.Component;
+
+@Component
+public class HistoricoMapper implements DtoMapper<HistoricoChamado, HistoricoDTO> {
+
+    @Override
+    public HistoricoDTO toDto(HistoricoChamado entity) {
+        HistoricoDTO dto = new HistoricoDTO();
+        dto.setId(entity.getId());
+        dto.setChamadoId(entity.getChamado() != null ? entity.getChamado().getId() : null);
+        dto.setFuncionarioId(entity.getFuncionario() != null ? entity.getFuncionario().getId() : null);
+        dto.setDataModificacao(entity.getDataModificacao());
+        dto.setStatusAnterior(entity.getStatusAnterior());
+        dto.setStatusNovo(entity.getStatusNovo());
+        dto.setObservacao(entity.getObservacao());
+        return dto;
+    }
+
+    @Override
+    public HistoricoChamado toEntity(HistoricoDTO dto) {
+        HistoricoChamado entity = new HistoricoChamado();
+        entity.setId(dto.getId());
+        if (dto.getChamadoId() != null) {
+            Chamado chamado = new Chamado();
+            chamado.setId(dto.getChamadoId());
+            entity.setChamado(chamado);
+        }
+        if (dto.getFuncionarioId() != null) {
+            Funcionario funcionario = new Funcionario();
+            funcionario.setId(dto.getFuncionarioId());
+            entity.setFuncionario(funcionario);
+        }
+        updateEntity(dto, entity);
+        return entity;
+    }
+
+    @Override
+    public void updateEntity(HistoricoDTO dto, HistoricoChamado entity) {
+        entity.setDataModificacao(dto.getDataModificacao());
+        entity.setStatusAnterior(dto.getStatusAnterior());
+        entity.setStatusNovo(dto.getStatusNovo());
+        entity.setObservacao(dto.getObservacao());
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.fiec.voz_cidada.mapper;
+
+import com.fiec.voz_cidada.domain.usuario.Usuario;
+import com.fiec.voz_cidada.domain.usuario.UsuarioDTO;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UsuarioMapper implements DtoMapper<Usuario, UsuarioDTO> {
+
+    @Override
+    public UsuarioDTO toDto(Usuario entity) {
+        UsuarioDTO dto = new UsuarioDTO();
+        dto.setId(entity.getId());
+        dto.setNome(entity.getNome());
+        dto.setCpf(entity.getCpf());
+        dto.setDataNascimento(entity.getDataNascimento());
+        dto.setDataCadastro(entity.getDataCadastro());
+        dto.setCep(entity.getCep());
+        dto.setRua(entity.getRua());
+        dto.setBairro(entity.getBairro());
+        dto.setCidade(entity.getCidade());
+        dto.setUf(entity.getUf());
+        return dto;
+    }
+
+    @Override
+    public Usuario toEntity(UsuarioDTO dto) {
+        Usuario entity = new Usuario();
+        entity.setId(dto.getId());
+        updateEntity(dto, entity);
+        return entity;
+    }
+
+    @Override
+    public void updateEntity(UsuarioDTO dto, Usuario entity) {
+        entity.setNome(dto.getNome());
+        entity.setCpf(dto.getCpf());
+        entity.setDataNascimento(dto.getDataNascimento());
+        entity.setDataCadastro(dto.getDataCadastro());
+        entity.setCep(dto.getCep());
+        entity.setRua(dto.getRua());
+        entity.setBairro(dto.getBairro());
+        entity.setCidade(dto.getCidade());
+        entity.setUf(dto.getUf());
+    }
+
+}
@@ -1,9 +1,38 @@
 package com.fiec.voz_cidada.repository;
 
 import com.fiec.voz_cidada.domain.avaliacao.Avaliacao;
+import com.fiec.voz_cidada.domain.avaliacao.AvaliacaoSnapshot;
+import com.fiec.voz_cidada.domain.avaliacao.AvaliacaoSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface AvaliacaoRepository extends GenericRepository<Avaliacao, Long> {
+
+    String SUMMARY_SELECT = "SELECT new com.fiec.voz_cidada.domain.avaliacao.AvaliacaoSummary(" +
+            "a.id, a.chamado.id, a.usuario.id, a.estrelas, a.comentario, a.dataAvaliacao) " +
+            "FROM Avaliacao a ";
+
     boolean existsByChamadoId(Long chamadoId);
+
+    @Query(value = SUMMARY_SELECT,
+            countQuery = "SELECT COUNT(a) FROM Avaliacao a")
+    Page<AvaliacaoSummary> findSummaries(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE a.id = :id")
+    Optional<AvaliacaoSummary> findSummaryById(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.fiec.voz_cidada.domain.avaliacao.AvaliacaoSnapshot(a.id, c.secretaria, a.dataAvaliacao, a.estrelas) " +
+            "FROM Avaliacao a JOIN a.chamado c")
+    Stream<AvaliacaoSnapshot> streamSnapshots();
 }
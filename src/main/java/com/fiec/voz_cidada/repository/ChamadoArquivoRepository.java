@@ -0,0 +1,28 @@
+package com.fiec.voz_cidada.repository;
+
+import com.fiec.voz_cidada.domain.chamado.ChamadoArquivado;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ChamadoArquivoRepository extends JpaRepository<ChamadoArquivado, Long> {
+
+    // INSERT direto: com o ID já atribuído, save() faria merge e um SELECT antes de cada gravação
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "chamado_arquivo"))
+    @Query(value = "INSERT INTO chamado_arquivo (id, data_abertura, arquivado_em, conteudo) " +
+            "VALUES (:id, :dataAbertura, :arquivadoEm, :conteudo)",
+            nativeQuery = true)
+    void insert(@Param("id") Long id,
+                @Param("dataAbertura") LocalDateTime dataAbertura,
+                @Param("arquivadoEm") LocalDateTime arquivadoEm,
+                @Param("conteudo") byte[] conteudo);
+}
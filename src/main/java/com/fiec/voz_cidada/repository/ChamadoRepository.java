@@ -1,22 +1,59 @@
 package com.fiec.voz_cidada.repository;
 
 import com.fiec.voz_cidada.domain.chamado.Chamado;
+import com.fiec.voz_cidada.domain.chamado.ChamadoExportRow;
+import com.fiec.voz_cidada.domain.chamado.ChamadoSnapshot;
+import com.fiec.voz_cidada.domain.chamado.ChamadoSummary;
 import com.fiec.voz_cidada.domain.chamado.Secretaria;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
-import org.springframework.hateoas.EntityModel;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ChamadoRepository extends GenericRepository<Chamado, Long> {
 
-    Page<Chamado> findChamadoByUsuario_Id(Pageable pageable, Long id);
+    // Projeção das listagens. c.usuario.id e c.authUser.id são lidos da FK, sem join.
+    String SUMMARY_SELECT = "SELECT new com.fiec.voz_cidada.domain.chamado.ChamadoSummary(" +
+            "c.id, c.usuario.id, c.authUser.id, c.titulo, c.dataAbertura, c.status, " +
+            "c.fotoAntesUrl, c.fotoDepoisUrl, c.secretaria, c.latitude, c.longitude, c.version) " +
+            "FROM Chamado c ";
 
-    Page<Chamado> findChamadoBySecretaria(Pageable pageable, Secretaria secretaria);
+    @Query(value = SUMMARY_SELECT,
+            countQuery = "SELECT COUNT(c) FROM Chamado c")
+    Page<ChamadoSummary> findSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE c.usuario.id = :usuarioId",
+            countQuery = "SELECT COUNT(c) FROM Chamado c WHERE c.usuario.id = :usuarioId")
+    Page<ChamadoSummary> findSummariesByUsuario(@Param("usuarioId") Long usuarioId, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE c.secretaria = :secretaria",
+            countQuery = "SELECT COUNT(c) FROM Chamado c WHERE c.secretaria = :secretaria")
+    Page<ChamadoSummary> findSummariesBySecretaria(@Param("secretaria") Secretaria secretaria, Pageable pageable);
+
+    @Query("SELECT c.version FROM Chamado c WHERE c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Histórico e avaliação fazem parte do detalhe do chamado, então alterá-los também muda o ETag.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Chamado c SET c.version = c.version + 1 WHERE c.id = :id")
+    int incrementVersion(@Param("id") Long id);
 
     @Query("SELECT c.status, COUNT(c) as total " +
             "FROM Chamado c " +
@@ -28,4 +65,141 @@ public interface ChamadoRepository extends GenericRepository<Chamado, Long> {
             "FROM Chamado c " +
             "GROUP BY c.status")
     List<Object[]> countByStatus();
+
+    @Query(SUMMARY_SELECT + "WHERE c.id IN :ids")
+    List<ChamadoSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.fiec.voz_cidada.domain.chamado.ChamadoSnapshot(c.id, c.secretaria, c.status, c.latitude, c.longitude) " +
+            "FROM Chamado c " +
+            "WHERE c.latitude IS NOT NULL AND c.longitude IS NOT NULL")
+    Stream<ChamadoSnapshot> streamLocatedSnapshots();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.fiec.voz_cidada.domain.chamado.ChamadoSnapshot(" +
+            "c.id, c.secretaria, c.status, c.latitude, c.longitude, c.titulo, c.descricao) " +
+            "FROM Chamado c")
+    Stream<ChamadoSnapshot> streamSnapshotsWithText();
+
+    /**
+     * Exportação: com fetch size e dentro de uma transação, o driver do Postgres lê por cursor no servidor,
+     * em blocos, em vez de trazer o resultado inteiro para a memória. Filtros nulos são ignorados.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.fiec.voz_cidada.domain.chamado.ChamadoExportRow(" +
+            "c.id, c.usuario.id, c.titulo, c.descricao, c.dataAbertura, c.status, c.secretaria, " +
+            "c.latitude, c.longitude, c.fotoAntesUrl, c.fotoDepoisUrl) " +
+            "FROM Chamado c " +
+            "WHERE (:de IS NULL OR c.dataAbertura >= :de) " +
+            "AND (:ate IS NULL OR c.dataAbertura < :ate) " +
+            "AND (:secretaria IS NULL OR c.secretaria = :secretaria) " +
+            "AND (:status IS NULL OR c.status = :status) " +
+            "ORDER BY c.id")
+    Stream<ChamadoExportRow> streamForExport(@Param("de") LocalDateTime de,
+                                             @Param("ate") LocalDateTime ate,
+                                             @Param("secretaria") Secretaria secretaria,
+                                             @Param("status") String status);
+
+    @Query("SELECT c.secretaria, c.status, COUNT(c) " +
+            "FROM Chamado c " +
+            "GROUP BY c.secretaria, c.status")
+    List<Object[]> countBySecretariaAndStatus();
+
+    /**
+     * Transição em lote em um único comando: o UPDATE só pega chamados ainda em statusAnterior e da
+     * secretaria informada ('ALL' = qualquer), e o INSERT grava o histórico exatamente das linhas alteradas.
+     * Retorna (id, secretaria, latitude, longitude, titulo, descricao) de cada chamado alterado.
+     */
+    @Query(value = "WITH alterados AS (" +
+            "UPDATE chamado SET status = :statusNovo, version = version + 1 " +
+            "WHERE id IN (:ids) AND status = :statusAnterior " +
+            "AND (:secretaria = 'ALL' OR secretaria = :secretaria) " +
+            "RETURNING id, secretaria, latitude, longitude, titulo, descricao" +
+            "), historico AS (" +
+            "INSERT INTO historico_chamado (chamado_id, funcionario_id, data_modificacao, status_anterior, status_novo, observacao) " +
+            "SELECT id, :funcionarioId, CAST(:dataModificacao AS TIMESTAMP), :statusAnterior, :statusNovo, CAST(:observacao AS TEXT) " +
+            "FROM alterados" +
+            ") SELECT id, secretaria, latitude, longitude, titulo, descricao FROM alterados",
+            nativeQuery = true)
+    List<Object[]> transitionStatus(@Param("ids") Collection<Long> ids,
+                                    @Param("statusAnterior") String statusAnterior,
+                                    @Param("statusNovo") String statusNovo,
+                                    @Param("secretaria") String secretaria,
+                                    @Param("funcionarioId") Long funcionarioId,
+                                    @Param("dataModificacao") LocalDateTime dataModificacao,
+                                    @Param("observacao") String observacao);
+
+    @Query("SELECT c.id, c.status, c.secretaria FROM Chamado c WHERE c.id IN :ids")
+    List<Object[]> findStatusByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Candidatos ao arquivamento: no status informado, abertos antes de cutoff e sem histórico a partir de cutoff.
+     * As linhas ficam travadas até o fim da transação; com SKIP LOCKED, outra instância pega um lote diferente.
+     */
+    @Query(value = "SELECT CAST(c.id AS BIGINT) FROM chamado c " +
+            "WHERE c.status = :status AND c.data_abertura < :cutoff " +
+            "AND NOT EXISTS (SELECT 1 FROM historico_chamado h WHERE h.chamado_id = c.id AND h.data_modificacao >= :cutoff) " +
+            "LIMIT :limit FOR UPDATE OF c SKIP LOCKED",
+            nativeQuery = true)
+    List<Long> lockArchivableIds(@Param("status") String status, @Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    /**
+     * Cria a partição anual de chamado ou historico_chamado (função da V10), se ainda não existir.
+     * @return true se a partição foi criada agora.
+     */
+    @Transactional
+    @Query(value = "SELECT create_yearly_partition(:parent, :keyColumn, :year)", nativeQuery = true)
+    boolean createYearlyPartition(@Param("parent") String parent, @Param("keyColumn") String keyColumn, @Param("year") int year);
+
+    /**
+     * chamado_id de históricos que não existem em chamado (sem FK desde a V10). Até limit IDs distintos.
+     */
+    @Query(value = "SELECT DISTINCT CAST(h.chamado_id AS BIGINT) FROM historico_chamado h " +
+            "WHERE NOT EXISTS (SELECT 1 FROM chamado c WHERE c.id = h.chamado_id) LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findOrphanHistoricoChamadoIds(@Param("limit") int limit);
+
+    /**
+     * chamado_id de avaliações que não existem em chamado (sem FK desde a V10). Até limit IDs distintos.
+     */
+    @Query(value = "SELECT DISTINCT CAST(a.chamado_id AS BIGINT) FROM avaliacao a " +
+            "WHERE NOT EXISTS (SELECT 1 FROM chamado c WHERE c.id = a.chamado_id) LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findOrphanAvaliacaoChamadoIds(@Param("limit") int limit);
+
+    // Paginação por cursor (keyset): ordem (dataAbertura DESC, id DESC), servida pelos índices da V5.
+    // A primeira página não tem cursor; as seguintes começam logo após o último (dataAbertura, id) entregue.
+
+    @Query(SUMMARY_SELECT +
+            "WHERE c.dataAbertura IS NOT NULL " +
+            "ORDER BY c.dataAbertura DESC, c.id DESC")
+    Slice<ChamadoSummary> findFirstWindow(Pageable pageable);
+
+    @Query(SUMMARY_SELECT +
+            "WHERE c.dataAbertura < :dataAbertura " +
+            "OR (c.dataAbertura = :dataAbertura AND c.id < :id) " +
+            "ORDER BY c.dataAbertura DESC, c.id DESC")
+    Slice<ChamadoSummary> findWindowAfter(@Param("dataAbertura") LocalDateTime dataAbertura, @Param("id") Long id, Pageable pageable);
+
+    @Query(SUMMARY_SELECT +
+            "WHERE c.usuario.id = :usuarioId AND c.dataAbertura IS NOT NULL " +
+            "ORDER BY c.dataAbertura DESC, c.id DESC")
+    Slice<ChamadoSummary> findFirstWindowByUsuario(@Param("usuarioId") Long usuarioId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT +
+            "WHERE c.usuario.id = :usuarioId " +
+            "AND (c.dataAbertura < :dataAbertura OR (c.dataAbertura = :dataAbertura AND c.id < :id)) " +
+            "ORDER BY c.dataAbertura DESC, c.id DESC")
+    Slice<ChamadoSummary> findWindowAfterByUsuario(@Param("usuarioId") Long usuarioId, @Param("dataAbertura") LocalDateTime dataAbertura, @Param("id") Long id, Pageable pageable);
+
+    @Query(SUMMARY_SELECT +
+            "WHERE c.secretaria = :secretaria AND c.dataAbertura IS NOT NULL " +
+            "ORDER BY c.dataAbertura DESC, c.id DESC")
+    Slice<ChamadoSummary> findFirstWindowBySecretaria(@Param("secretaria") Secretaria secretaria, Pageable pageable);
+
+    @Query(SUMMARY_SELECT +
+            "WHERE c.secretaria = :secretaria " +
+            "AND (c.dataAbertura < :dataAbertura OR (c.dataAbertura = :dataAbertura AND c.id < :id)) " +
+            "ORDER BY c.dataAbertura DESC, c.id DESC")
+    Slice<ChamadoSummary> findWindowAfterBySecretaria(@Param("secretaria") Secretaria secretaria, @Param("dataAbertura") LocalDateTime dataAbertura, @Param("id") Long id, Pageable pageable);
 }
\ No newline at end of file
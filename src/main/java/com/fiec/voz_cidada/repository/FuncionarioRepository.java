@@ -1,12 +1,25 @@
 package com.fiec.voz_cidada.repository;
 
+import com.fiec.voz_cidada.domain.chamado.Secretaria;
 import com.fiec.voz_cidada.domain.funcionario.Funcionario;
-import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
 public interface FuncionarioRepository extends GenericRepository<Funcionario, Long> {
+    // Usada em quase toda checagem de acesso; com entity-cache.enabled o resultado vem do cache de consultas
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Funcionario> findByAuthUser_Id(Long id);
+
+    @Query("SELECT f.authUser.id FROM Funcionario f WHERE f.id = :id")
+    Optional<Long> findAuthUserIdById(@Param("id") Long id);
+
+    @Query("SELECT f.secretaria FROM Funcionario f WHERE f.authUser.id = :authUserId")
+    Optional<Secretaria> findSecretariaByAuthUserId(@Param("authUserId") Long authUserId);
 }
@@ -1,8 +1,48 @@
 package com.fiec.voz_cidada.repository;
 
 import com.fiec.voz_cidada.domain.historico.HistoricoChamado;
+import com.fiec.voz_cidada.domain.historico.HistoricoSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
+
 @Repository
 public interface HistoricoRepository extends GenericRepository<HistoricoChamado, Long> {
+
+    String SUMMARY_SELECT = "SELECT new com.fiec.voz_cidada.domain.historico.HistoricoSummary(" +
+            "h.id, h.chamado.id, h.funcionario.id, h.dataModificacao, h.statusAnterior, h.statusNovo, h.observacao) " +
+            "FROM HistoricoChamado h ";
+
+    @Query(value = SUMMARY_SELECT,
+            countQuery = "SELECT COUNT(h) FROM HistoricoChamado h")
+    Page<HistoricoSummary> findSummaries(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE h.id = :id")
+    Optional<HistoricoSummary> findSummaryById(@Param("id") Long id);
+
+    @Query("SELECT h.chamado.id FROM HistoricoChamado h WHERE h.id = :id")
+    Optional<Long> findChamadoIdById(@Param("id") Long id);
+
+    // Linha do tempo por cursor (keyset): ordem (dataModificacao, id) crescente, servida pelo índice da V9.
+
+    @Query(SUMMARY_SELECT +
+            "WHERE h.chamado.id = :chamadoId " +
+            "ORDER BY h.dataModificacao, h.id")
+    Slice<HistoricoSummary> findFirstTimelineWindow(@Param("chamadoId") Long chamadoId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT +
+            "WHERE h.chamado.id = :chamadoId " +
+            "AND (h.dataModificacao > :dataModificacao " +
+            "OR (h.dataModificacao = :dataModificacao AND h.id > :id)) " +
+            "ORDER BY h.dataModificacao, h.id")
+    Slice<HistoricoSummary> findTimelineWindowAfter(@Param("chamadoId") Long chamadoId,
+                                                    @Param("dataModificacao") LocalDateTime dataModificacao,
+                                                    @Param("id") Long id,
+                                                    Pageable pageable);
 }
@@ -0,0 +1,41 @@
+package com.fiec.voz_cidada.repository;
+
+import com.fiec.voz_cidada.domain.auth_user.RevokedToken;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    boolean existsByJtiAndExpiresAtAfter(String jti, LocalDateTime now);
+
+    @Query("SELECT r.jti FROM RevokedToken r WHERE r.expiresAt > :now")
+    List<String> findActiveJtis(@Param("now") LocalDateTime now);
+
+    /**
+     * Retorna 0 quando o jti já estava revogado, o que indica reutilização do refresh token.
+     */
+    // Sem declarar a tabela, o Hibernate trataria o SQL nativo como capaz de alterar qualquer tabela e
+    // esvaziaria todo o cache de segundo nível a cada refresh
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "revoked_token"))
+    @Query(value = "INSERT INTO revoked_token (jti, expires_at) VALUES (:jti, :expiresAt) ON CONFLICT (jti) DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("jti") String jti, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
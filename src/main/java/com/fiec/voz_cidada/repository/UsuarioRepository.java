@@ -1,11 +1,26 @@
 package com.fiec.voz_cidada.repository;
 
 import com.fiec.voz_cidada.domain.usuario.Usuario;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UsuarioRepository extends GenericRepository<Usuario, Long> {
+    // Usada em quase toda checagem de acesso; com entity-cache.enabled o resultado vem do cache de consultas
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Usuario> findByAuthUser_Id(Long id);
+
+    @Query("SELECT u.authUser.id FROM Usuario u WHERE u.id = :id")
+    Optional<Long> findAuthUserIdById(@Param("id") Long id);
+
+    @Query("SELECT u.id FROM Usuario u WHERE u.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
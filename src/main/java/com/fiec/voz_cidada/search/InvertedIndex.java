@@ -0,0 +1,274 @@
+package com.fiec.voz_cidada.search;
+
+import com.fiec.voz_cidada.util.LongLongHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido em memória com ranking BM25.
+ * Cada versão indexada de um documento recebe um número interno crescente, o que mantém as postings
+ * sempre em ordem de append. Atualizar um documento marca a versão anterior como apagada e indexa de novo;
+ * o espaço das versões apagadas só é recuperado reconstruindo o índice (ver deletedRatio()).
+ */
+public class InvertedIndex {
+
+    /** Filtro "qualquer valor" para status e secretaria. */
+    public static final int ANY = Integer.MIN_VALUE;
+
+    private static final double K1 = 1.2d;
+    private static final double B = 0.75d;
+    private static final long NO_DOC = -1;
+
+    private final Map<String, PostingsList> postings = new HashMap<>();
+    private final LongLongHashMap docByExternalId = new LongLongHashMap();
+    private final BitSet deleted = new BitSet();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long[] externalIds = new long[1024];
+    private int[] lengths = new int[1024];
+    private int[] statuses = new int[1024];
+    private int[] secretarias = new int[1024];
+    private int docCount;
+    private int liveDocs;
+    private long totalLength;
+
+    /**
+     * Indexa (ou reindexa) o documento. Os termos de title contam em dobro.
+     */
+    public void put(long externalId, String title, String body, int status, int secretaria) {
+        List<String> titleTerms = PortugueseAnalyzer.analyze(title);
+        List<String> terms = new ArrayList<>(titleTerms);
+        terms.addAll(titleTerms);
+        terms.addAll(PortugueseAnalyzer.analyze(body));
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : terms) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+
+        lock.writeLock().lock();
+        try {
+            deleteInternal(externalId);
+            int doc = docCount++;
+            ensureCapacity(doc + 1);
+            externalIds[doc] = externalId;
+            lengths[doc] = terms.size();
+            statuses[doc] = status;
+            secretarias[doc] = secretaria;
+            docByExternalId.put(externalId, doc, NO_DOC);
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), key -> new PostingsList()).add(doc, entry.getValue());
+            }
+            liveDocs++;
+            totalLength += terms.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean delete(long externalId) {
+        lock.writeLock().lock();
+        try {
+            return deleteInternal(externalId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Os limit documentos mais relevantes para a consulta, do maior para o menor score.
+     */
+    public List<Hit> search(String query, int status, int secretaria, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(PortugueseAnalyzer.analyze(query)));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            if (liveDocs == 0) {
+                return List.of();
+            }
+            double averageLength = Math.max(1d, (double) totalLength / liveDocs);
+            List<PostingsList.Cursor> cursors = new ArrayList<>(terms.size());
+            double[] idfs = new double[terms.size()];
+            for (String term : terms) {
+                PostingsList list = postings.get(term);
+                if (list != null) {
+                    PostingsList.Cursor cursor = list.cursor();
+                    cursor.next();
+                    cursors.add(cursor);
+                    int df = Math.min(list.docFreq(), liveDocs);
+                    idfs[cursors.size() - 1] = Math.log(1d + (liveDocs - df + 0.5d) / (df + 0.5d));
+                }
+            }
+
+            // Documento a documento: avança juntos os cursores que estão no menor doc
+            TopK top = new TopK(limit);
+            while (true) {
+                int doc = PostingsList.Cursor.NO_MORE_DOCS;
+                for (PostingsList.Cursor cursor : cursors) {
+                    doc = Math.min(doc, cursor.doc());
+                }
+                if (doc == PostingsList.Cursor.NO_MORE_DOCS) {
+                    break;
+                }
+                double score = 0d;
+                for (int i = 0; i < cursors.size(); i++) {
+                    PostingsList.Cursor cursor = cursors.get(i);
+                    if (cursor.doc() == doc) {
+                        double tf = cursor.termFreq();
+                        double norm = K1 * (1d - B + B * lengths[doc] / averageLength);
+                        score += idfs[i] * tf * (K1 + 1d) / (tf + norm);
+                        cursor.next();
+                    }
+                }
+                if (!deleted.get(doc)
+                        && (status == ANY || statuses[doc] == status)
+                        && (secretaria == ANY || secretarias[doc] == secretaria)) {
+                    top.offer(externalIds[doc], score);
+                }
+            }
+            return top.sorted();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Fração das versões indexadas que estão apagadas (espaço a recuperar numa reconstrução).
+     */
+    public double deletedRatio() {
+        lock.readLock().lock();
+        try {
+            return docCount == 0 ? 0d : (double) (docCount - liveDocs) / docCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long postingsSizeInBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (PostingsList list : postings.values()) {
+                bytes += list.sizeInBytes();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean deleteInternal(long externalId) {
+        long doc = docByExternalId.remove(externalId, NO_DOC);
+        if (doc == NO_DOC) {
+            return false;
+        }
+        deleted.set((int) doc);
+        liveDocs--;
+        totalLength -= lengths[(int) doc];
+        return true;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > externalIds.length) {
+            int newCapacity = Math.max(externalIds.length << 1, capacity);
+            externalIds = Arrays.copyOf(externalIds, newCapacity);
+            lengths = Arrays.copyOf(lengths, newCapacity);
+            statuses = Arrays.copyOf(statuses, newCapacity);
+            secretarias = Arrays.copyOf(secretarias, newCapacity);
+        }
+    }
+
+    public record Hit(long id, double score) {
+    }
+
+    /**
+     * Min-heap de tamanho limit por score: mantém os limit maiores.
+     */
+    private static final class TopK {
+        final long[] ids;
+        final double[] scores;
+        int size;
+
+        TopK(int limit) {
+            ids = new long[limit];
+            scores = new double[limit];
+        }
+
+        void offer(long id, double score) {
+            if (size < ids.length) {
+                ids[size] = id;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (score > scores[0]) {
+                ids[0] = id;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        List<Hit> sorted() {
+            Hit[] result = new Hit[size];
+            for (int i = size - 1; i >= 0; i--) {
+                result[i] = new Hit(ids[0], scores[0]);
+                size--;
+                ids[0] = ids[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+            return List.of(result);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (scores[parent] <= scores[index]) {
+                    break;
+                }
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int left = (index << 1) + 1;
+                if (left >= size) {
+                    break;
+                }
+                int smallest = left + 1 < size && scores[left + 1] < scores[left] ? left + 1 : left;
+                if (scores[index] <= scores[smallest]) {
+                    break;
+                }
+                swap(index, smallest);
+                index = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            double score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.fiec.voz_cidada.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Quebra texto em termos: minúsculas, sem acentos (ação -> acao), sem stopwords e com um stemmer leve
+ * de português que remove plural e sufixos comuns (iluminação, iluminado, ilumina -> ilumin).
+ * O mesmo analisador é usado na indexação e na consulta, então basta ser consistente, não perfeito.
+ */
+public final class PortugueseAnalyzer {
+
+    private static final int MIN_STEM = 3;
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "ao", "aos", "as", "com", "da", "das", "de", "do", "dos", "e", "ela", "ele", "em", "entre",
+            "essa", "esse", "esta", "este", "foi", "ha", "isso", "ja", "mais", "mas", "me", "meu", "minha",
+            "muito", "na", "nas", "nao", "no", "nos", "num", "numa", "o", "os", "ou", "para", "pela", "pelo",
+            "por", "que", "se", "sem", "seu", "sua", "sao", "tem", "um", "uma");
+
+    // Do mais longo para o mais curto: o primeiro que couber é removido
+    private static final String[] SUFFIXES = {
+            "amentos", "imentos", "amento", "imento", "acoes", "icoes", "mente", "idades", "idade",
+            "acao", "icao", "adores", "ador", "antes", "ante", "ados", "idos", "adas", "idas",
+            "ado", "ido", "ada", "ida", "ar", "er", "ir", "a", "o", "e"
+    };
+
+    private PortugueseAnalyzer() {
+    }
+
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        String folded = fold(text);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean letterOrDigit = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (letterOrDigit && start < 0) {
+                start = i;
+            } else if (!letterOrDigit && start >= 0) {
+                String token = folded.substring(start, i);
+                if (!STOPWORDS.contains(token)) {
+                    terms.add(stem(token));
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    static String fold(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder builder = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                builder.append(c);
+            }
+        }
+        return builder.toString().toLowerCase(Locale.ROOT);
+    }
+
+    static String stem(String token) {
+        if (token.length() <= MIN_STEM || !Character.isLetter(token.charAt(0))) {
+            return token;
+        }
+        String singular = singular(token);
+        for (String suffix : SUFFIXES) {
+            if (singular.endsWith(suffix) && singular.length() - suffix.length() >= MIN_STEM) {
+                return singular.substring(0, singular.length() - suffix.length());
+            }
+        }
+        return singular;
+    }
+
+    private static String singular(String token) {
+        if (token.endsWith("oes") || token.endsWith("aes")) {
+            return token.substring(0, token.length() - 3) + "ao";
+        }
+        if (token.endsWith("ais")) {
+            return token.substring(0, token.length() - 3) + "al";
+        }
+        if (token.endsWith("eis")) {
+            return token.substring(0, token.length() - 3) + "el";
+        }
+        if (token.endsWith("ns")) {
+            return token.substring(0, token.length() - 2) + "m";
+        }
+        if (token.endsWith("res") || token.endsWith("zes")) {
+            return token.substring(0, token.length() - 2);
+        }
+        if (token.endsWith("s") && !token.endsWith("ss")) {
+            return token.substring(0, token.length() - 1);
+        }
+        return token;
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.fiec.voz_cidada.search;
+
+import java.util.Arrays;
+
+/**
+ * Lista de ocorrências de um termo, comprimida: para cada documento (em ordem crescente) grava a
+ * diferença para o anterior e a frequência do termo, ambas em varint. IDs próximos custam 1 byte.
+ */
+final class PostingsList {
+
+    private byte[] data = new byte[8];
+    private int length;
+    private int lastDoc = -1;
+    private int docFreq;
+
+    void add(int doc, int termFreq) {
+        if (doc <= lastDoc) {
+            throw new IllegalArgumentException("Documentos devem ser adicionados em ordem crescente.");
+        }
+        ensureCapacity(10);
+        writeVarint(doc - lastDoc);
+        writeVarint(termFreq);
+        lastDoc = doc;
+        docFreq++;
+    }
+
+    int docFreq() {
+        return docFreq;
+    }
+
+    int sizeInBytes() {
+        return length;
+    }
+
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length << 1, length + extra));
+        }
+    }
+
+    private void writeVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    /**
+     * Percorre a lista em ordem; doc() == NO_MORE_DOCS quando acaba.
+     */
+    final class Cursor {
+        static final int NO_MORE_DOCS = Integer.MAX_VALUE;
+
+        private final int end = length;
+        private int position;
+        private int doc = -1;
+        private int termFreq;
+
+        boolean next() {
+            if (position >= end) {
+                doc = NO_MORE_DOCS;
+                return false;
+            }
+            doc += readVarint();
+            termFreq = readVarint();
+            return true;
+        }
+
+        int doc() {
+            return doc;
+        }
+
+        int termFreq() {
+            return termFreq;
+        }
+
+        private int readVarint() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+
+}
@@ -1,11 +1,16 @@
 package com.fiec.voz_cidada.service;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.fiec.voz_cidada.config.security.LoginThrottle;
+import com.fiec.voz_cidada.config.security.PrincipalCache;
+import com.fiec.voz_cidada.config.security.RefreshTokenRevocationStore;
 import com.fiec.voz_cidada.config.security.TokenService;
 import com.fiec.voz_cidada.domain.auth_user.*;
 import com.fiec.voz_cidada.domain.funcionario.Funcionario;
 import com.fiec.voz_cidada.domain.usuario.Usuario;
 import com.fiec.voz_cidada.exceptions.InvalidAuthenticationException;
 import com.fiec.voz_cidada.exceptions.ResourceNotFoundException;
+import com.fiec.voz_cidada.exceptions.ServiceUnavailableException;
 import com.fiec.voz_cidada.repository.AuthRepository;
 import com.fiec.voz_cidada.repository.FuncionarioRepository;
 import com.fiec.voz_cidada.repository.UsuarioRepository;
@@ -18,16 +23,20 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.View;
 
+import java.time.ZoneId;
 import java.util.List;
 
 @Slf4j
 @Service
 public class AuthService implements UserDetailsService {
 
+    // Contas criadas via Google não têm senha local; o valor não é um hash BCrypt e nunca confere no login
+    private static final String GOOGLE_OAUTH_PASSWORD = "{google-oauth}";
+
     @Autowired
     private AuthRepository authRepository;
 
@@ -39,20 +48,67 @@ public class AuthService implements UserDetailsService {
 
     @Autowired TokenService tokenService;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    @Autowired
+    private RefreshTokenRevocationStore revocationStore;
+
     @Autowired
     private AuthenticationConfiguration authenticationConfiguration;
 
-    public ResponseEntity<?> login(AuthenticationDTO dto) {
+    public ResponseEntity<?> login(AuthenticationDTO dto, String clientIp) {
+        loginThrottle.acquire(dto.login(), clientIp);
         try {
             AuthenticationManager authManager = authenticationConfiguration.getAuthenticationManager();
             var credentials = new UsernamePasswordAuthenticationToken(dto.login(), dto.password());
             var auth = authManager.authenticate(credentials);
             return ResponseEntity.ok(tokenService.createAuthTokens((AuthUser) auth.getPrincipal()));
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             throw new InvalidAuthenticationException("Seu login ou senha estão incorretos!");
         }
     }
 
+    /**
+     * Troca um refresh token válido por um novo par de tokens. Cada refresh token só pode ser usado uma vez:
+     * o jti é revogado na troca, e a reutilização de um jti já revogado invalida todos os tokens do usuário.
+     * A checagem de reutilização é o Bloom filter de RefreshTokenRevocationStore, sem ida ao banco no caso comum;
+     * reutilizações entre instâncias são detectadas na gravação em lote dos jti.
+     */
+    public ResponseEntity<?> refresh(RefreshTokenDTO dto) {
+        try {
+            DecodedJWT jwt = tokenService.verify(dto.refreshToken(), "REFRESH");
+            if (jwt.getId() == null || jwt.getIssuedAtAsInstant() == null) {
+                throw new InvalidAuthenticationException("Refresh token sem identificador.");
+            }
+            AuthUser user = authRepository.findById(Long.valueOf(jwt.getSubject()))
+                    .orElseThrow(() -> new InvalidAuthenticationException("Usuário não encontrado."));
+            if (user.getTokensValidAfter() != null
+                    && jwt.getIssuedAtAsInstant().isBefore(user.getTokensValidAfter().atZone(ZoneId.systemDefault()).toInstant())) {
+                throw new InvalidAuthenticationException("Refresh token revogado.");
+            }
+            if (!revocationStore.revoke(jwt.getId(), jwt.getExpiresAtAsInstant(), user.getId())) {
+                user.revokeIssuedTokens();
+                authRepository.save(user);
+                StackTraceElement currentMethod = Thread.currentThread().getStackTrace()[1];
+                String logMsg = "Refresh token reutilizado. Tokens revogados para o AuthUser ID " + user.getId();
+                log.warn("{} > {} > {}", currentMethod.getClassName(), currentMethod.getMethodName(), logMsg);
+                throw new InvalidAuthenticationException("Refresh token já utilizado.");
+            }
+            return ResponseEntity.ok(tokenService.createAuthTokens(user));
+        } catch (Exception e) {
+            throw new InvalidAuthenticationException("Sessão expirada. Faça login novamente.");
+        }
+    }
+
     public AuthUser findById(Long id) {
         return authRepository.findById(id)
                 .orElseThrow();
@@ -64,7 +120,7 @@ public class AuthService implements UserDetailsService {
             if (user == null) {
                 user = new AuthUser(
                         dto.email(),
-                        new BCryptPasswordEncoder().encode("google-oauth-" + dto.email()),
+                        GOOGLE_OAUTH_PASSWORD,
                         UserRole.USER,
                         AuthStatus.SIGNIN);
 
@@ -84,7 +140,7 @@ public class AuthService implements UserDetailsService {
     public ResponseEntity<?> createUser(RegisterDTO dto) {
         try {
             if (authRepository.findByLogin(dto.login()) != null) return ResponseEntity.badRequest().build();
-            String encryptedPassword = new BCryptPasswordEncoder().encode(dto.password());
+            String encryptedPassword = passwordEncoder.encode(dto.password());
             AuthUser newUser = new AuthUser(dto.login(), encryptedPassword, UserRole.USER, AuthStatus.SIGNUP);
 
             authRepository.save(newUser);
@@ -93,6 +149,8 @@ public class AuthService implements UserDetailsService {
             log.info("{} > {} > {}", currentMethod.getClassName(), currentMethod.getMethodName(), logMsg);
 
             return ResponseEntity.ok().build();
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             throw new InvalidAuthenticationException("Não foi possível criar o usuário.");
         }
@@ -101,7 +159,7 @@ public class AuthService implements UserDetailsService {
     public ResponseEntity<?> createAdmin(RegisterDTO dto) {
         try {
             if (authRepository.findByLogin(dto.login()) != null) return ResponseEntity.badRequest().build();
-            String encryptedPassword = new BCryptPasswordEncoder().encode(dto.password());
+            String encryptedPassword = passwordEncoder.encode(dto.password());
             AuthUser newUser = new AuthUser(dto.login(), encryptedPassword, UserRole.ADMIN, AuthStatus.SIGNUP);
 
             authRepository.save(newUser);
@@ -110,6 +168,8 @@ public class AuthService implements UserDetailsService {
             log.info("{} > {} > {}", currentMethod.getClassName(), currentMethod.getMethodName(), logMsg);
 
             return ResponseEntity.ok().build();
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             throw new InvalidAuthenticationException("Não foi possível criar o administrador.");
         }
@@ -125,20 +185,23 @@ public class AuthService implements UserDetailsService {
             var user = authRepository.findById(Long.valueOf(id))
                     .orElseThrow(() -> new InvalidAuthenticationException("Usuário não encontrado."));
 
-            BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
             if (!passwordEncoder.matches(dto.currentPassword(), user.getPassword())) {
                 throw new InvalidAuthenticationException("Senha atual incorreta.");
             }
 
             String encryptedPassword = passwordEncoder.encode(dto.newPassword());
             user.changePassword(encryptedPassword);
+            user.revokeIssuedTokens();
 
             authRepository.save(user);
+            principalCache.invalidate(user.getId());
             StackTraceElement currentMethod = Thread.currentThread().getStackTrace()[1];
             String logMsg = "Senha alterada. AuthUser ID " + user.getId();
             log.info("{} > {} > {}", currentMethod.getClassName(), currentMethod.getMethodName(), logMsg);
 
             return ResponseEntity.ok().build();
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             throw new InvalidAuthenticationException("Não foi possível alterar a senha.");
         }
@@ -162,6 +225,7 @@ public class AuthService implements UserDetailsService {
             }
             user.updateAuthStatus("SIGNUP");
             authRepository.save(user);
+            principalCache.invalidate(user.getId());
 
             StackTraceElement currentMethod = Thread.currentThread().getStackTrace()[1];
             String logMsg = "Status de autenticação do usuário alterado. AuthUser ID: " + user.getId();
@@ -1,20 +1,33 @@
 package com.fiec.voz_cidada.service;
 
 import com.fiec.voz_cidada.controller.AvaliacaoController;
+import com.fiec.voz_cidada.domain.avaliacao.AvaliacaoChangedEvent;
 import com.fiec.voz_cidada.domain.avaliacao.AvaliacaoDTO;
 import com.fiec.voz_cidada.domain.avaliacao.Avaliacao;
+import com.fiec.voz_cidada.domain.avaliacao.AvaliacaoSnapshot;
+import com.fiec.voz_cidada.domain.avaliacao.AvaliacaoStats;
+import com.fiec.voz_cidada.domain.avaliacao.AvaliacaoSummary;
 import com.fiec.voz_cidada.domain.chamado.Chamado;
+import com.fiec.voz_cidada.domain.chamado.Secretaria;
+import com.fiec.voz_cidada.exceptions.BadRequestException;
 import com.fiec.voz_cidada.exceptions.ResourceNotFoundException;
 import com.fiec.voz_cidada.repository.AvaliacaoRepository;
 import com.fiec.voz_cidada.repository.ChamadoRepository;
+import com.fiec.voz_cidada.mapper.AvaliacaoMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
 import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
 
 @Slf4j
 @Service
@@ -26,8 +39,14 @@ public class AvaliacaoService extends GenericService<Avaliacao, AvaliacaoDTO, Lo
     @Autowired
     private ChamadoRepository chamadoRepository;
 
-    public AvaliacaoService(AvaliacaoRepository repository) {
-        super(repository, AvaliacaoDTO.class, Avaliacao.class);
+    @Autowired
+    private AvaliacaoStatsAggregator statsAggregator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public AvaliacaoService(AvaliacaoRepository repository, AvaliacaoMapper mapper) {
+        super(repository, mapper, Avaliacao.class);
     }
 
     @Override
@@ -44,6 +63,8 @@ public class AvaliacaoService extends GenericService<Avaliacao, AvaliacaoDTO, Lo
         checkAccess(dto.getUsuarioId());
 
         Avaliacao savedEntity = repository.save(convertToEntity(dto));
+        chamadoRepository.incrementVersion(entity.getId());
+        eventPublisher.publishEvent(new AvaliacaoChangedEvent(null, AvaliacaoSnapshot.of(savedEntity, entity.getSecretaria())));
         StackTraceElement currentMethod = Thread.currentThread().getStackTrace()[1];
         String logMsg = "Avaliação criada. ID " + savedEntity.getId();
         log.info("{} > {} > {}", currentMethod.getClassName(), currentMethod.getMethodName(), logMsg);
@@ -51,15 +72,39 @@ public class AvaliacaoService extends GenericService<Avaliacao, AvaliacaoDTO, Lo
         return EntityModel.of(convertToDto(savedEntity), generateLinks(dto));
     }
 
+    /**
+     * Listagem e detalhe leem a projeção AvaliacaoSummary, sem carregar o chamado e o usuário de cada avaliação.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseEntity<PagedModel<EntityModel<AvaliacaoDTO>>> findAll(Pageable pageable) {
+        Page<AvaliacaoDTO> dtos = repository.findSummaries(pageable).map(AvaliacaoSummary::toDto);
+        return ResponseEntity.ok(assembler.toModel(dtos, dto -> EntityModel.of(dto, generateLinks(dto))));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseEntity<EntityModel<AvaliacaoDTO>> findById(Long id) {
+        AvaliacaoDTO dto = repository.findSummaryById(id)
+                .map(AvaliacaoSummary::toDto)
+                .orElseThrow(() -> new ResourceNotFoundException("A avaliação não existe."));
+        return ResponseEntity.ok(EntityModel.of(dto, generateLinks(dto)));
+    }
+
     @Override
     public ResponseEntity<EntityModel<AvaliacaoDTO>> update(AvaliacaoDTO dto) {
         Avaliacao entity = repository.findById(dto.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("A avaliação não existe."));
         checkAccess(entity.getChamado().getUsuario().getId());
         checkAccess(dto.getUsuarioId());
-        mapper.map(dto, entity);
+        Secretaria secretaria = entity.getChamado().getSecretaria();
+        AvaliacaoSnapshot before = AvaliacaoSnapshot.of(entity, secretaria);
+        mapper.updateEntity(dto, entity);
 
-        AvaliacaoDTO savedDto = convertToDto(repository.save(entity));
+        Avaliacao saved = repository.save(entity);
+        AvaliacaoDTO savedDto = convertToDto(saved);
+        chamadoRepository.incrementVersion(entity.getChamado().getId());
+        eventPublisher.publishEvent(new AvaliacaoChangedEvent(before, AvaliacaoSnapshot.of(saved, secretaria)));
         StackTraceElement currentMethod = Thread.currentThread().getStackTrace()[1];
         String logMsg = "Avaliação atualizada. ID " + savedDto.getId();
         log.info("{} > {} > {}", currentMethod.getClassName(), currentMethod.getMethodName(), logMsg);
@@ -73,18 +118,39 @@ public class AvaliacaoService extends GenericService<Avaliacao, AvaliacaoDTO, Lo
                 .orElseThrow(() -> new ResourceNotFoundException("A avaliação não existe."));
         checkAccess(entity.getUsuario().getId());
         repository.delete(entity);
+        eventPublisher.publishEvent(new AvaliacaoChangedEvent(AvaliacaoSnapshot.of(entity, entity.getChamado().getSecretaria()), null));
+    }
+
+    /**
+     * Sem datas, cobre as últimas 12 semanas até hoje.
+     */
+    public ResponseEntity<AvaliacaoStats> stats(LocalDate de, LocalDate ate, String secretaria) {
+        LocalDate end = ate != null ? ate : LocalDate.now();
+        LocalDate start = de != null ? de : end.minusWeeks(12);
+        if (start.isAfter(end)) {
+            throw new BadRequestException("A data inicial deve ser anterior à data final.");
+        }
+        Secretaria filter = null;
+        if (secretaria != null && !secretaria.isBlank()) {
+            try {
+                filter = Secretaria.valueOf(secretaria.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Secretaria inválida: " + secretaria);
+            }
+        }
+        return ResponseEntity.ok(statsAggregator.stats(start, end, filter));
     }
 
     @Override
     protected Link[] generateLinks(AvaliacaoDTO dto) {
-        return new Link[] {
+        return linkTemplates.expand(AvaliacaoController.class, dto.getId(), id -> new Link[] {
                 WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(AvaliacaoController.class)
-                        .findById(dto.getId())).withSelfRel(),
+                        .findById(id)).withSelfRel(),
                 WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(AvaliacaoController.class)
                         .findAll(Pageable.unpaged())).withRel("avaliacoes"),
                 WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(AvaliacaoController.class)
-                        .delete(dto.getId())).withRel("delete")
-        };
+                        .delete(id)).withRel("delete")
+        });
     }
 
     @Override
@@ -0,0 +1,191 @@
+package com.fiec.voz_cidada.service;
+
+import com.fiec.voz_cidada.domain.avaliacao.AvaliacaoChangedEvent;
+import com.fiec.voz_cidada.domain.avaliacao.AvaliacaoSnapshot;
+import com.fiec.voz_cidada.domain.avaliacao.AvaliacaoStats;
+import com.fiec.voz_cidada.domain.chamado.Secretaria;
+import com.fiec.voz_cidada.exceptions.ServiceUnavailableException;
+import com.fiec.voz_cidada.repository.AvaliacaoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * Quantidade, soma e histograma de estrelas das avaliações por secretaria do chamado e por semana,
+ * mantidos em memória a partir dos AvaliacaoChangedEvent (aplicados depois do commit).
+ * Um job periódico refaz tudo percorrendo a tabela avaliacao em stream, o que corrige alterações feitas
+ * fora do AvaliacaoService (ex.: a secretaria do chamado mudou depois da avaliação).
+ * Avaliações sem data ou com estrelas fora de 1 a 5 ficam de fora.
+ */
+@Slf4j
+@Component
+public class AvaliacaoStatsAggregator {
+
+    private static final String NO_SECRETARIA = "SEM_SECRETARIA";
+    private static final int COUNT = 0;
+    private static final int SUM = 1;
+    // Posições 2 a 6: quantidade de avaliações com 1 a 5 estrelas
+    private static final int STARS = 2;
+    private static final int SLOTS = STARS + 5;
+
+    private final AvaliacaoRepository repository;
+    private final RebuildableState<Map<BucketKey, AtomicLongArray>, AvaliacaoChangedEvent> buckets =
+            new RebuildableState<>(new ConcurrentHashMap<>(), AvaliacaoStatsAggregator::apply);
+
+    public AvaliacaoStatsAggregator(AvaliacaoRepository repository) {
+        this.repository = repository;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAvaliacaoChanged(AvaliacaoChangedEvent event) {
+        buckets.apply(event);
+    }
+
+    /**
+     * @param secretaria nula inclui todas
+     */
+    public AvaliacaoStats stats(LocalDate de, LocalDate ate, Secretaria secretaria) {
+        if (!buckets.isLoaded()) {
+            throw new ServiceUnavailableException("As estatísticas de avaliações ainda estão sendo carregadas.");
+        }
+        LocalDate firstWeek = weekOf(de);
+        LocalDate lastWeek = weekOf(ate);
+
+        Map<BucketKey, long[]> weeks = new LinkedHashMap<>();
+        Map<Secretaria, long[]> totals = new EnumMap<>(Secretaria.class);
+        long[] noSecretariaTotal = new long[SLOTS];
+        buckets.get().forEach((key, values) -> {
+            if (key.semana().isBefore(firstWeek) || key.semana().isAfter(lastWeek)) {
+                return;
+            }
+            if (secretaria != null && key.secretaria() != secretaria) {
+                return;
+            }
+            long[] copy = snapshot(values);
+            if (copy[COUNT] <= 0) {
+                return;
+            }
+            weeks.put(key, copy);
+            long[] total = key.secretaria() == null
+                    ? noSecretariaTotal
+                    : totals.computeIfAbsent(key.secretaria(), s -> new long[SLOTS]);
+            for (int i = 0; i < SLOTS; i++) {
+                total[i] += copy[i];
+            }
+        });
+
+        List<AvaliacaoStats.Bucket> bySecretaria = new ArrayList<>();
+        totals.forEach((s, total) -> bySecretaria.add(bucket(s, null, total)));
+        if (noSecretariaTotal[COUNT] > 0) {
+            bySecretaria.add(bucket(null, null, noSecretariaTotal));
+        }
+        List<AvaliacaoStats.Bucket> byWeek = weeks.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator
+                        .comparing(BucketKey::secretaria, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(BucketKey::semana)))
+                .map(entry -> bucket(entry.getKey().secretaria(), entry.getKey().semana(), entry.getValue()))
+                .toList();
+        return new AvaliacaoStats(de, ate, bySecretaria, byWeek);
+    }
+
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    @Transactional
+    @Scheduled(initialDelayString = "${avaliacao.stats.rebuild-interval}", fixedDelayString = "${avaliacao.stats.rebuild-interval}")
+    public void rebuild() {
+        long[] read = new long[1];
+        try {
+            buckets.rebuild(() -> {
+                Map<BucketKey, AtomicLongArray> loaded = new ConcurrentHashMap<>();
+                try (Stream<AvaliacaoSnapshot> snapshots = repository.streamSnapshots()) {
+                    snapshots.forEach(snapshot -> {
+                        add(loaded, snapshot, 1);
+                        read[0]++;
+                    });
+                }
+                return loaded;
+            });
+        } catch (RuntimeException e) {
+            log.error("Falha ao recalcular as estatísticas de avaliações.", e);
+            return;
+        }
+        log.info("{} avaliações agregadas em {} combinações de secretaria/semana.", read[0], buckets.get().size());
+    }
+
+    private static void apply(Map<BucketKey, AtomicLongArray> target, AvaliacaoChangedEvent event) {
+        AvaliacaoSnapshot before = event.before();
+        AvaliacaoSnapshot after = event.after();
+        if (before != null && after != null
+                && before.secretaria() == after.secretaria()
+                && Objects.equals(before.dataAvaliacao(), after.dataAvaliacao())
+                && Objects.equals(before.estrelas(), after.estrelas())) {
+            return;
+        }
+        add(target, before, -1);
+        add(target, after, 1);
+    }
+
+    private static void add(Map<BucketKey, AtomicLongArray> target, AvaliacaoSnapshot snapshot, int delta) {
+        if (snapshot == null || snapshot.dataAvaliacao() == null || snapshot.estrelas() == null
+                || snapshot.estrelas() < 1 || snapshot.estrelas() > 5) {
+            return;
+        }
+        BucketKey key = new BucketKey(snapshot.secretaria(), weekOf(snapshot.dataAvaliacao().toLocalDate()));
+        AtomicLongArray values = target.computeIfAbsent(key, k -> new AtomicLongArray(SLOTS));
+        values.addAndGet(COUNT, delta);
+        values.addAndGet(SUM, (long) delta * snapshot.estrelas());
+        values.addAndGet(STARS + snapshot.estrelas() - 1, delta);
+    }
+
+    private static long[] snapshot(AtomicLongArray values) {
+        long[] copy = new long[SLOTS];
+        for (int i = 0; i < SLOTS; i++) {
+            copy[i] = values.get(i);
+        }
+        return copy;
+    }
+
+    private static AvaliacaoStats.Bucket bucket(Secretaria secretaria, LocalDate semana, long[] values) {
+        Map<Integer, Long> estrelas = new LinkedHashMap<>();
+        for (int stars = 1; stars <= 5; stars++) {
+            estrelas.put(stars, values[STARS + stars - 1]);
+        }
+        double media = values[COUNT] == 0 ? 0 : (double) values[SUM] / values[COUNT];
+        return new AvaliacaoStats.Bucket(
+                secretaria == null ? NO_SECRETARIA : secretaria.name(),
+                semana,
+                values[COUNT],
+                Math.round(media * 100) / 100.0,
+                estrelas);
+    }
+
+    private static LocalDate weekOf(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private record BucketKey(Secretaria secretaria, LocalDate semana) {
+    }
+
+}
@@ -0,0 +1,157 @@
+package com.fiec.voz_cidada.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fiec.voz_cidada.controller.ChamadoController;
+import com.fiec.voz_cidada.domain.avaliacao.AvaliacaoChangedEvent;
+import com.fiec.voz_cidada.domain.avaliacao.AvaliacaoSnapshot;
+import com.fiec.voz_cidada.domain.chamado.Chamado;
+import com.fiec.voz_cidada.domain.chamado.ChamadoArquivado;
+import com.fiec.voz_cidada.domain.chamado.ChamadoChangedEvent;
+import com.fiec.voz_cidada.domain.chamado.ChamadoDTO;
+import com.fiec.voz_cidada.domain.chamado.ChamadoSnapshot;
+import com.fiec.voz_cidada.exceptions.ResourceNotFoundException;
+import com.fiec.voz_cidada.mapper.ChamadoMapper;
+import com.fiec.voz_cidada.repository.ChamadoArquivoRepository;
+import com.fiec.voz_cidada.repository.ChamadoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Arquivamento de chamados frios. Com chamado.archive.enabled, um job move para chamado_arquivo os chamados
+ * no status chamado.archive.status abertos há mais de chamado.archive.min-age dias e sem histórico nesse
+ * período: cada um vira o ChamadoDTO completo (histórico e avaliação) em JSON com gzip, e sai das tabelas
+ * particionadas. Os lotes rodam em transações próprias; os eventos de exclusão tiram os chamados e as avaliações
+ * arquivados dos agregados em memória. Arquivados continuam consultáveis pelo ID (GET /api/chamado/arquivo/{id}).
+ */
+@Slf4j
+@Service
+public class ChamadoArchiveService {
+
+    private final ChamadoRepository repository;
+    private final ChamadoArquivoRepository arquivoRepository;
+    private final ChamadoMapper mapper;
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final String status;
+    private final int minAgeDays;
+    private final int batchSize;
+
+    public ChamadoArchiveService(
+            ChamadoRepository repository,
+            ChamadoArquivoRepository arquivoRepository,
+            ChamadoMapper mapper,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${chamado.archive.enabled}") boolean enabled,
+            @Value("${chamado.archive.status}") String status,
+            @Value("${chamado.archive.min-age}") int minAgeDays,
+            @Value("${chamado.archive.batch-size}") int batchSize)
+    {
+        this.repository = repository;
+        this.arquivoRepository = arquivoRepository;
+        this.mapper = mapper;
+        this.writer = objectMapper.writerFor(ChamadoDTO.class);
+        this.reader = objectMapper.readerFor(ChamadoDTO.class);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.status = status;
+        this.minAgeDays = minAgeDays;
+        this.batchSize = batchSize;
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<EntityModel<ChamadoDTO>> findById(Long id) {
+        ChamadoArquivado arquivado = arquivoRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Nenhum chamado arquivado encontrado."));
+        ChamadoDTO dto = decompress(arquivado.getConteudo());
+        return ResponseEntity.ok(EntityModel.of(dto,
+                WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(ChamadoController.class)
+                        .findArquivado(id)).withSelfRel()));
+    }
+
+    @Scheduled(initialDelayString = "${chamado.archive.interval}", fixedDelayString = "${chamado.archive.interval}")
+    public void archive() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(minAgeDays);
+        int total = 0;
+        try {
+            int archived;
+            do {
+                archived = transactionTemplate.execute(tx -> archiveBatch(cutoff));
+                total += archived;
+            } while (archived == batchSize);
+        } catch (RuntimeException e) {
+            log.error("Falha ao arquivar chamados.", e);
+        }
+        if (total > 0) {
+            log.info("{} chamados arquivados (status {}, abertos antes de {}).", total, status, cutoff);
+        }
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<Long> ids = repository.lockArchivableIds(status, cutoff, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime arquivadoEm = LocalDateTime.now();
+        List<Chamado> chamados = repository.findAllById(ids);
+        for (Chamado chamado : chamados) {
+            arquivoRepository.insert(chamado.getId(), chamado.getDataAbertura(), arquivadoEm,
+                    compress(mapper.toDto(chamado)));
+            eventPublisher.publishEvent(new ChamadoChangedEvent(ChamadoSnapshot.of(chamado), null));
+            if (chamado.getAvaliacao() != null) {
+                eventPublisher.publishEvent(new AvaliacaoChangedEvent(
+                        AvaliacaoSnapshot.of(chamado.getAvaliacao(), chamado.getSecretaria()), null));
+            }
+        }
+        // Histórico (orphanRemoval) e avaliação (cascade) saem junto com o chamado
+        repository.deleteAll(chamados);
+        return ids.size();
+    }
+
+    private byte[] compress(ChamadoDTO dto) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            writer.writeValue(gzip, dto);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private ChamadoDTO decompress(byte[] conteudo) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(conteudo))) {
+            return reader.readValue(gzip);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
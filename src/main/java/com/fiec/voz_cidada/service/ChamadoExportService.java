@@ -0,0 +1,250 @@
+package com.fiec.voz_cidada.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fiec.voz_cidada.domain.chamado.ChamadoExportRow;
+import com.fiec.voz_cidada.domain.chamado.Secretaria;
+import com.fiec.voz_cidada.exceptions.BadRequestException;
+import com.fiec.voz_cidada.repository.ChamadoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exportação de chamados em NDJSON ou CSV, escrita direto na resposta à medida que as linhas chegam
+ * do cursor do banco. Nada é acumulado: a memória usada não depende do tamanho da exportação.
+ */
+@Slf4j
+@Service
+public class ChamadoExportService {
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String mediaType;
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String CSV_HEADER = "id,usuarioId,titulo,descricao,dataAbertura,status,secretaria,"
+            + "latitude,longitude,fotoAntesUrl,fotoDepoisUrl\r\n";
+
+    private final ChamadoRepository repository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+    private final TransactionTemplate transactionTemplate;
+
+    public ChamadoExportService(ChamadoRepository repository, ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        // Sem flush a cada linha: o buffer do gerador decide quando escrever na resposta
+        this.rowWriter = objectMapper.writerFor(ChamadoExportRow.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * @param de  primeiro dia incluído (nulo = sem limite)
+     * @param ate último dia incluído (nulo = sem limite)
+     */
+    public ResponseEntity<StreamingResponseBody> export(String format, LocalDate de, LocalDate ate,
+                                                        String secretaria, String status, boolean gzip) {
+        Format outputFormat = parseFormat(format);
+        if (de != null && ate != null && ate.isBefore(de)) {
+            throw new BadRequestException("A data final deve ser igual ou posterior à inicial.");
+        }
+        LocalDateTime from = de == null ? null : de.atStartOfDay();
+        LocalDateTime until = ate == null ? null : ate.plusDays(1).atStartOfDay();
+        Secretaria secretariaFilter = secretaria == null || secretaria.isBlank() ? null : Secretaria.valueOf(secretaria.toUpperCase());
+        String statusFilter = status == null || status.isBlank() ? null : status.toUpperCase();
+
+        // O corpo roda em outra thread, depois que o controller retorna; a transação precisa ser aberta lá
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+            long[] exported = {0};
+            try {
+                transactionTemplate.executeWithoutResult(transaction -> {
+                    try (Stream<ChamadoExportRow> rows = repository.streamForExport(from, until, secretariaFilter, statusFilter)) {
+                        exported[0] = outputFormat == Format.CSV ? writeCsv(rows, target) : writeNdjson(rows, target);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            if (target instanceof GZIPOutputStream gzipStream) {
+                gzipStream.finish();
+            }
+            log.info("Exportação de chamados concluída: {} linhas em {}.", exported[0], outputFormat);
+        };
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(new MediaType(MediaType.parseMediaType(outputFormat.mediaType), StandardCharsets.UTF_8));
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename("chamados." + outputFormat.extension)
+                .build());
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        headers.set(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+
+    /**
+     * Aceita gzip se o cliente listou gzip (ou *) no Accept-Encoding sem q=0.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim();
+            if (!coding.equalsIgnoreCase("gzip") && !coding.equals("*")) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < tokens.length; i++) {
+                String parameter = tokens[i].trim().replace(" ", "");
+                if (parameter.matches("q=0(\\.0{0,3})?")) {
+                    refused = true;
+                }
+            }
+            if (!refused) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long writeNdjson(Stream<ChamadoExportRow> rows, OutputStream target) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(target)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            Iterator<ChamadoExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                rowWriter.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long writeCsv(Stream<ChamadoExportRow> rows, OutputStream target) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+        Iterator<ChamadoExportRow> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            ChamadoExportRow row = iterator.next();
+            writer.write(String.valueOf(row.id()));
+            writer.write(',');
+            writer.write(row.usuarioId() == null ? "" : String.valueOf(row.usuarioId()));
+            writer.write(',');
+            writeText(writer, row.titulo());
+            writer.write(',');
+            writeText(writer, row.descricao());
+            writer.write(',');
+            writer.write(row.dataAbertura() == null ? "" : DATE_TIME.format(row.dataAbertura()));
+            writer.write(',');
+            writeText(writer, row.status());
+            writer.write(',');
+            writer.write(row.secretaria() == null ? "" : row.secretaria().name());
+            writer.write(',');
+            writeNumber(writer, row.latitude());
+            writer.write(',');
+            writeNumber(writer, row.longitude());
+            writer.write(',');
+            writeText(writer, row.fotoAntesUrl());
+            writer.write(',');
+            writeText(writer, row.fotoDepoisUrl());
+            writer.write("\r\n");
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static void writeNumber(Writer writer, BigDecimal value) throws IOException {
+        if (value != null) {
+            writer.write(value.toPlainString());
+        }
+    }
+
+    /**
+     * Campo de texto em CSV (RFC 4180). Textos que começam com =, +, - ou @ ganham um apóstrofo na frente
+     * para que planilhas não os interpretem como fórmula; o texto vem de cidadãos.
+     */
+    private static void writeText(Writer writer, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        char first = value.charAt(0);
+        boolean formula = first == '=' || first == '+' || first == '-' || first == '@';
+        boolean quote = formula;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        if (formula) {
+            writer.write('\'');
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static Format parseFormat(String format) {
+        try {
+            return Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Formato inválido. Use ndjson ou csv.");
+        }
+    }
+
+}
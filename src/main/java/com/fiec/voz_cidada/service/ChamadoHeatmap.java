@@ -0,0 +1,163 @@
+package com.fiec.voz_cidada.service;
+
+import com.fiec.voz_cidada.domain.chamado.ChamadoChangedEvent;
+import com.fiec.voz_cidada.domain.chamado.ChamadoSnapshot;
+import com.fiec.voz_cidada.domain.chamado.HeatmapTile;
+import com.fiec.voz_cidada.domain.chamado.Secretaria;
+import com.fiec.voz_cidada.exceptions.BadRequestException;
+import com.fiec.voz_cidada.geo.TilePyramid;
+import com.fiec.voz_cidada.repository.ChamadoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+/**
+ * Pirâmide de contagens do mapa de calor, carregada na inicialização e mantida pelos ChamadoChangedEvent.
+ * Um job periódico monta uma pirâmide nova a partir do banco e a troca pela atual, o que corrige contagens
+ * que derivaram por alterações que não passaram pelos eventos.
+ */
+@Slf4j
+@Component
+public class ChamadoHeatmap {
+
+    private static final String NO_STATUS = "SEM_STATUS";
+    private static final String NO_SECRETARIA = "SEM_SECRETARIA";
+
+    private final ChamadoRepository repository;
+    private final int minZoom;
+    private final int maxZoom;
+    private final RebuildableState<TilePyramid, ChamadoChangedEvent> pyramid;
+    private final Map<String, Integer> statusCodes = new ConcurrentHashMap<>();
+    private final List<String> statusNames = new CopyOnWriteArrayList<>();
+
+    public ChamadoHeatmap(
+            ChamadoRepository repository,
+            @Value("${chamado.heatmap.min-zoom}") int minZoom,
+            @Value("${chamado.heatmap.max-zoom}") int maxZoom)
+    {
+        this.repository = repository;
+        this.minZoom = minZoom;
+        this.maxZoom = maxZoom;
+        this.pyramid = new RebuildableState<>(new TilePyramid(minZoom, maxZoom), this::apply);
+    }
+
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    @Transactional
+    @Scheduled(initialDelayString = "${chamado.heatmap.rebuild-interval}", fixedDelayString = "${chamado.heatmap.rebuild-interval}")
+    public void rebuild() {
+        long[] loaded = new long[1];
+        try {
+            pyramid.rebuild(() -> {
+                TilePyramid fresh = new TilePyramid(minZoom, maxZoom);
+                try (Stream<ChamadoSnapshot> snapshots = repository.streamLocatedSnapshots()) {
+                    snapshots.forEach(snapshot -> {
+                        apply(fresh, snapshot, 1);
+                        loaded[0]++;
+                    });
+                }
+                return fresh;
+            });
+        } catch (RuntimeException e) {
+            log.error("Falha ao carregar o mapa de calor dos chamados.", e);
+            return;
+        }
+        log.info("{} chamados agregados no mapa de calor (zoom {} a {}).", loaded[0], minZoom, maxZoom);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChamadoChanged(ChamadoChangedEvent event) {
+        pyramid.apply(event);
+    }
+
+    public HeatmapTile tile(int z, int x, int y) {
+        if (z < minZoom || z > maxZoom) {
+            throw new BadRequestException("O zoom deve estar entre " + minZoom + " e " + maxZoom + ".");
+        }
+        if (x < 0 || y < 0 || x >= (1 << z) || y >= (1 << z)) {
+            throw new BadRequestException("Tile fora dos limites do zoom " + z + ".");
+        }
+        Secretaria[] secretarias = Secretaria.values();
+        List<HeatmapTile.Cell> cells = pyramid.get().tile(z, x, y).stream()
+                .map(counts -> new HeatmapTile.Cell(
+                        counts.row(),
+                        counts.column(),
+                        counts.total(),
+                        named(counts.byStatus(), statusNames::get),
+                        named(counts.bySecretaria(), code -> code == 0 ? NO_SECRETARIA : secretarias[code - 1].name())))
+                .toList();
+        return new HeatmapTile(z, x, y, TilePyramid.CELLS, cells);
+    }
+
+    private void apply(TilePyramid target, ChamadoChangedEvent event) {
+        ChamadoSnapshot before = event.before();
+        ChamadoSnapshot after = event.after();
+        if (before != null && after != null && sameCell(before, after)) {
+            return;
+        }
+        apply(target, before, -1);
+        apply(target, after, 1);
+    }
+
+    private void apply(TilePyramid target, ChamadoSnapshot snapshot, int delta) {
+        if (snapshot == null || snapshot.latitude() == null || snapshot.longitude() == null) {
+            return;
+        }
+        target.add(snapshot.latitude().doubleValue(),
+                snapshot.longitude().doubleValue(),
+                statusCode(snapshot.status()),
+                snapshot.secretaria() == null ? 0 : snapshot.secretaria().ordinal() + 1,
+                delta);
+    }
+
+    private static boolean sameCell(ChamadoSnapshot before, ChamadoSnapshot after) {
+        return Objects.equals(before.status(), after.status())
+                && before.secretaria() == after.secretaria()
+                && Objects.equals(before.latitude(), after.latitude())
+                && Objects.equals(before.longitude(), after.longitude());
+    }
+
+    private int statusCode(String status) {
+        String name = status == null ? NO_STATUS : status;
+        Integer code = statusCodes.get(name);
+        if (code != null) {
+            return code;
+        }
+        // O código é a posição em statusNames, então a criação precisa ser serializada
+        synchronized (statusNames) {
+            return statusCodes.computeIfAbsent(name, key -> {
+                statusNames.add(key);
+                return statusNames.size() - 1;
+            });
+        }
+    }
+
+    private static Map<String, Integer> named(int[] counts, IntFunction<String> names) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                result.put(names.apply(code), counts[code]);
+            }
+        }
+        return result;
+    }
+
+}
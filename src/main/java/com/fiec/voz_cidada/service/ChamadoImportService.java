@@ -0,0 +1,254 @@
+package com.fiec.voz_cidada.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fiec.voz_cidada.domain.auth_user.AuthUser;
+import com.fiec.voz_cidada.domain.chamado.Chamado;
+import com.fiec.voz_cidada.domain.chamado.ChamadoChangedEvent;
+import com.fiec.voz_cidada.domain.chamado.ChamadoDTO;
+import com.fiec.voz_cidada.domain.chamado.ChamadoImportResult;
+import com.fiec.voz_cidada.domain.chamado.ChamadoSnapshot;
+import com.fiec.voz_cidada.domain.chamado.Secretaria;
+import com.fiec.voz_cidada.mapper.ChamadoMapper;
+import com.fiec.voz_cidada.repository.ChamadoRepository;
+import com.fiec.voz_cidada.repository.UsuarioRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Importação de chamados em lote a partir de um array JSON ou NDJSON lido em streaming.
+ * Os itens são validados e gravados em blocos de chamado.import.chunk-size, cada bloco em sua própria
+ * transação com INSERTs em lote (IDs da sequence reservados em blocos). Se um bloco falhar no banco,
+ * seus itens são regravados um a um para isolar as linhas com erro; o restante da importação segue.
+ */
+@Slf4j
+@Service
+public class ChamadoImportService {
+
+    private final ChamadoRepository repository;
+    private final UsuarioRepository usuarioRepository;
+    private final ChamadoMapper mapper;
+    private final ObjectReader reader;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    public ChamadoImportService(
+            ChamadoRepository repository,
+            UsuarioRepository usuarioRepository,
+            ChamadoMapper mapper,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${chamado.import.chunk-size}") int chunkSize,
+            @Value("${chamado.import.max-errors}") int maxErrors)
+    {
+        this.repository = repository;
+        this.usuarioRepository = usuarioRepository;
+        this.mapper = mapper;
+        this.reader = objectMapper.readerFor(ChamadoDTO.class);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+    }
+
+    public ChamadoImportResult importChamados(InputStream input) throws IOException {
+        AuthUser currentAuthUser = (AuthUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        Progress progress = new Progress();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+
+        // readValues lê tanto um array JSON (item a item) quanto valores separados por linha (NDJSON)
+        try (MappingIterator<ChamadoDTO> iterator = reader.readValues(input)) {
+            while (true) {
+                int row = progress.received + 1;
+                ChamadoDTO dto;
+                try {
+                    if (!iterator.hasNextValue()) {
+                        break;
+                    }
+                    dto = iterator.nextValue();
+                } catch (JsonParseException e) {
+                    // JSON malformado: não há como achar o início do próximo item com segurança
+                    progress.received++;
+                    progress.error(row, "JSON inválido: " + e.getOriginalMessage());
+                    break;
+                } catch (JsonMappingException e) {
+                    progress.received++;
+                    progress.error(row, "Item inválido: " + e.getOriginalMessage());
+                    continue;
+                }
+                progress.received++;
+                chunk.add(new Row(row, dto));
+                if (chunk.size() == chunkSize) {
+                    writeChunk(chunk, currentAuthUser, progress);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, currentAuthUser, progress);
+        }
+
+        StackTraceElement currentMethod = Thread.currentThread().getStackTrace()[1];
+        String logMsg = "Importação de chamados concluída. " + progress.imported + " de " + progress.received + " importados.";
+        log.info("{} > {} > {}", currentMethod.getClassName(), currentMethod.getMethodName(), logMsg);
+
+        return new ChamadoImportResult(progress.received, progress.imported, progress.failed, progress.errors);
+    }
+
+    private void writeChunk(List<Row> chunk, AuthUser currentAuthUser, Progress progress) {
+        Set<Long> usuarioIds = new HashSet<>();
+        for (Row row : chunk) {
+            if (row.dto().getUsuarioId() != null) {
+                usuarioIds.add(row.dto().getUsuarioId());
+            }
+        }
+        Set<Long> existingUsuarios = usuarioIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(usuarioRepository.findExistingIds(usuarioIds));
+
+        List<Row> valid = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            String error = validate(row.dto(), existingUsuarios);
+            if (error != null) {
+                progress.error(row.index(), error);
+            } else {
+                valid.add(row);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        try {
+            save(valid, currentAuthUser);
+            progress.imported += valid.size();
+        } catch (RuntimeException chunkFailure) {
+            log.warn("Bloco de importação recusado pelo banco; gravando item a item. {}", chunkFailure.getMessage());
+            for (Row row : valid) {
+                try {
+                    save(List.of(row), currentAuthUser);
+                    progress.imported++;
+                } catch (RuntimeException rowFailure) {
+                    progress.error(row.index(), "Erro ao gravar: " + rootMessage(rowFailure));
+                }
+            }
+        }
+    }
+
+    private void save(List<Row> rows, AuthUser currentAuthUser) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Chamado> entities = new ArrayList<>(rows.size());
+            for (Row row : rows) {
+                entities.add(toEntity(row.dto(), currentAuthUser));
+            }
+            repository.saveAll(entities);
+            repository.flush();
+            for (Chamado entity : entities) {
+                eventPublisher.publishEvent(new ChamadoChangedEvent(null, ChamadoSnapshot.of(entity)));
+            }
+        });
+    }
+
+    private Chamado toEntity(ChamadoDTO dto, AuthUser currentAuthUser) {
+        // O ID de entrada é ignorado: a importação sempre cria chamados novos
+        dto.setId(null);
+        if (dto.getAuthUserId() == null) {
+            dto.setAuthUserId(currentAuthUser.getId());
+        }
+        if (dto.getDataAbertura() == null) {
+            dto.setDataAbertura(LocalDateTime.now());
+        }
+        if (dto.getStatus() == null || dto.getStatus().isBlank()) {
+            dto.setStatus("PENDENTE");
+        }
+        if (dto.getSecretaria() != null) {
+            dto.setSecretaria(dto.getSecretaria().toUpperCase());
+        }
+        return mapper.toEntity(dto);
+    }
+
+    private static String validate(ChamadoDTO dto, Set<Long> existingUsuarios) {
+        if (dto == null) {
+            return "Item vazio.";
+        }
+        if (dto.getUsuarioId() == null) {
+            return "usuarioId é obrigatório.";
+        }
+        if (!existingUsuarios.contains(dto.getUsuarioId())) {
+            return "Usuário " + dto.getUsuarioId() + " não encontrado.";
+        }
+        if (dto.getTitulo() == null || dto.getTitulo().isBlank()) {
+            return "titulo é obrigatório.";
+        }
+        if (dto.getTitulo().length() > 255) {
+            return "titulo deve ter no máximo 255 caracteres.";
+        }
+        if (dto.getDescricao() == null || dto.getDescricao().isBlank()) {
+            return "descricao é obrigatória.";
+        }
+        if (dto.getStatus() != null && dto.getStatus().length() > 50) {
+            return "status deve ter no máximo 50 caracteres.";
+        }
+        if (dto.getSecretaria() != null) {
+            try {
+                Secretaria.valueOf(dto.getSecretaria().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return "Secretaria inválida: " + dto.getSecretaria();
+            }
+        }
+        if (!inRange(dto.getLatitude(), 90) || !inRange(dto.getLongitude(), 180)) {
+            return "Coordenadas inválidas.";
+        }
+        return null;
+    }
+
+    private static boolean inRange(BigDecimal value, int limit) {
+        return value == null || value.abs().compareTo(BigDecimal.valueOf(limit)) <= 0;
+    }
+
+    private static String rootMessage(Throwable throwable) {
+        Throwable root = throwable;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    private record Row(int index, ChamadoDTO dto) {
+    }
+
+    private final class Progress {
+        int received;
+        int imported;
+        int failed;
+        final List<ChamadoImportResult.RowError> errors = new ArrayList<>();
+
+        void error(int row, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ChamadoImportResult.RowError(row, message));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.fiec.voz_cidada.service;
+
+import com.fiec.voz_cidada.repository.ChamadoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Year;
+import java.util.List;
+
+/**
+ * Mantém criadas as partições anuais de chamado e historico_chamado do ano atual e dos
+ * chamado.partitions.years-ahead anos seguintes, para que os INSERTs não caiam na partição default.
+ * Cada partição é criada em sua própria transação pela função create_yearly_partition (V10), que também
+ * move para ela as linhas do ano que já estavam na default.
+ * Como chamado(id) deixou de ser alvo de FK, outro job procura históricos e avaliações com chamado_id inexistente.
+ */
+@Slf4j
+@Component
+public class ChamadoPartitionMaintenance {
+
+    // Tabela particionada -> coluna da chave de partição
+    private static final String[][] TABLES = {
+            { "chamado", "data_abertura" },
+            { "historico_chamado", "data_modificacao" }
+    };
+
+    // Quantos chamado_id órfãos, no máximo, aparecem no log de cada tabela
+    private static final int ORPHAN_SAMPLE = 50;
+
+    private final ChamadoRepository repository;
+    private final int yearsAhead;
+
+    public ChamadoPartitionMaintenance(
+            ChamadoRepository repository,
+            @Value("${chamado.partitions.years-ahead}") int yearsAhead)
+    {
+        this.repository = repository;
+        this.yearsAhead = yearsAhead;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${chamado.partitions.check-interval}", fixedDelayString = "${chamado.partitions.check-interval}")
+    public void createFuturePartitions() {
+        int currentYear = Year.now().getValue();
+        for (String[] table : TABLES) {
+            for (int year = currentYear; year <= currentYear + yearsAhead; year++) {
+                try {
+                    if (repository.createYearlyPartition(table[0], table[1], year)) {
+                        log.info("Partição {}_{} criada.", table[0], year);
+                    }
+                } catch (RuntimeException e) {
+                    log.error("Falha ao criar a partição {}_{}.", table[0], year, e);
+                }
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${chamado.partitions.orphan-check-interval}", fixedDelayString = "${chamado.partitions.orphan-check-interval}")
+    public void checkOrphanReferences() {
+        try {
+            reportOrphans("historico_chamado", repository.findOrphanHistoricoChamadoIds(ORPHAN_SAMPLE));
+            reportOrphans("avaliacao", repository.findOrphanAvaliacaoChamadoIds(ORPHAN_SAMPLE));
+        } catch (RuntimeException e) {
+            log.error("Falha ao verificar referências a chamados inexistentes.", e);
+        }
+    }
+
+    private void reportOrphans(String table, List<Long> chamadoIds) {
+        if (!chamadoIds.isEmpty()) {
+            log.warn("{} referencia chamados inexistentes (até {} IDs): {}", table, ORPHAN_SAMPLE, chamadoIds);
+        }
+    }
+
+}
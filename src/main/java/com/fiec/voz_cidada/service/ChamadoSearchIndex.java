@@ -0,0 +1,120 @@
+package com.fiec.voz_cidada.service;
+
+import com.fiec.voz_cidada.domain.chamado.ChamadoChangedEvent;
+import com.fiec.voz_cidada.domain.chamado.ChamadoSnapshot;
+import com.fiec.voz_cidada.domain.chamado.Secretaria;
+import com.fiec.voz_cidada.repository.ChamadoRepository;
+import com.fiec.voz_cidada.search.InvertedIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Busca textual sobre titulo/descricao dos chamados. O índice é construído lendo a tabela chamado em
+ * streaming (uma linha por vez, com fetch size) e mantido pelos ChamadoChangedEvent depois de cada commit.
+ * Quando as versões apagadas passam de chamado.search.rebuild-deleted-ratio, o índice é reconstruído
+ * em segundo plano e trocado de uma vez.
+ */
+@Slf4j
+@Component
+public class ChamadoSearchIndex {
+
+    private static final int NULL_CODE = -1;
+    private static final int UNKNOWN_CODE = -2;
+
+    private final ChamadoRepository repository;
+    private final double rebuildDeletedRatio;
+    private final Map<String, Integer> statusCodes = new ConcurrentHashMap<>();
+    private final AtomicInteger nextStatusCode = new AtomicInteger();
+    private final RebuildableState<InvertedIndex, ChamadoChangedEvent> index =
+            new RebuildableState<>(new InvertedIndex(), this::apply);
+
+    public ChamadoSearchIndex(
+            ChamadoRepository repository,
+            @Value("${chamado.search.rebuild-deleted-ratio}") double rebuildDeletedRatio)
+    {
+        this.repository = repository;
+        this.rebuildDeletedRatio = rebuildDeletedRatio;
+    }
+
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${chamado.search.rebuild-check-interval}", initialDelayString = "${chamado.search.rebuild-check-interval}")
+    public void rebuildIfNeeded() {
+        if (index.get().deletedRatio() > rebuildDeletedRatio) {
+            rebuild();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChamadoChanged(ChamadoChangedEvent event) {
+        index.apply(event);
+    }
+
+    /**
+     * @param status     filtro opcional (nulo = qualquer)
+     * @param secretaria filtro opcional (nulo = qualquer)
+     */
+    public List<InvertedIndex.Hit> search(String query, String status, Secretaria secretaria, int limit) {
+        int statusFilter = status == null ? InvertedIndex.ANY : statusCodes.getOrDefault(status, UNKNOWN_CODE);
+        int secretariaFilter = secretaria == null ? InvertedIndex.ANY : secretaria.ordinal();
+        return index.get().search(query, statusFilter, secretariaFilter, limit);
+    }
+
+    // load() e rebuildIfNeeded() podem rodar ao mesmo tempo; RebuildableState faz uma reconstrução por vez
+    private void rebuild() {
+        InvertedIndex fresh = new InvertedIndex();
+        try {
+            index.rebuild(() -> {
+                try (Stream<ChamadoSnapshot> snapshots = repository.streamSnapshotsWithText()) {
+                    snapshots.forEach(snapshot -> put(fresh, snapshot));
+                }
+                return fresh;
+            });
+        } catch (RuntimeException e) {
+            log.error("Falha ao reconstruir o índice de busca dos chamados.", e);
+            return;
+        }
+        log.info("Índice de busca reconstruído: {} chamados, {} KB de postings.", fresh.size(), fresh.postingsSizeInBytes() / 1024);
+    }
+
+    private void apply(InvertedIndex target, ChamadoChangedEvent event) {
+        if (event.after() != null) {
+            put(target, event.after());
+        } else if (event.before() != null) {
+            target.delete(event.before().id());
+        }
+    }
+
+    private void put(InvertedIndex target, ChamadoSnapshot snapshot) {
+        target.put(snapshot.id(),
+                snapshot.titulo(),
+                snapshot.descricao(),
+                statusCode(snapshot.status()),
+                snapshot.secretaria() == null ? NULL_CODE : snapshot.secretaria().ordinal());
+    }
+
+    private int statusCode(String status) {
+        if (status == null) {
+            return NULL_CODE;
+        }
+        return statusCodes.computeIfAbsent(status, key -> nextStatusCode.getAndIncrement());
+    }
+
+}
@@ -4,33 +4,66 @@ import com.fiec.voz_cidada.controller.ChamadoController;
 import com.fiec.voz_cidada.domain.auth_user.AuthUser;
 import com.fiec.voz_cidada.domain.chamado.ChamadoDTO;
 import com.fiec.voz_cidada.domain.chamado.Chamado;
+import com.fiec.voz_cidada.domain.chamado.ChamadoChangedEvent;
+import com.fiec.voz_cidada.domain.chamado.ChamadoSnapshot;
+import com.fiec.voz_cidada.domain.chamado.ChamadoSummary;
+import com.fiec.voz_cidada.domain.chamado.ChamadoTransitionRequest;
+import com.fiec.voz_cidada.domain.chamado.ChamadoTransitionResult;
+import com.fiec.voz_cidada.domain.chamado.HeatmapTile;
 import com.fiec.voz_cidada.domain.chamado.Secretaria;
 import com.fiec.voz_cidada.domain.funcionario.Funcionario;
+import com.fiec.voz_cidada.exceptions.BadRequestException;
 import com.fiec.voz_cidada.exceptions.ResourceNotFoundException;
 import com.fiec.voz_cidada.exceptions.UnauthorizedException;
+import com.fiec.voz_cidada.geo.SpatialGrid;
+import com.fiec.voz_cidada.mapper.ChamadoMapper;
 import com.fiec.voz_cidada.repository.AuthRepository;
 import com.fiec.voz_cidada.repository.ChamadoRepository;
 import com.fiec.voz_cidada.repository.FuncionarioRepository;
+import com.fiec.voz_cidada.search.InvertedIndex;
+import com.fiec.voz_cidada.util.ETags;
+import com.fiec.voz_cidada.util.KeysetCursor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
 public class ChamadoService extends GenericService<Chamado, ChamadoDTO, Long> {
 
+    private static final int MAX_SCROLL_SIZE = 100;
+    // O cliente pode guardar a resposta, mas revalida com If-None-Match antes de reutilizá-la
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     @Autowired
     private AuthRepository authRepository;
 
@@ -40,10 +73,38 @@ public class ChamadoService extends GenericService<Chamado, ChamadoDTO, Long> {
     @Autowired
     private FuncionarioRepository funcionarioRepository;
 
-    public ChamadoService(ChamadoRepository repository) {
-        super(repository, ChamadoDTO.class, Chamado.class);
+    @Autowired
+    private ChamadoStatusCounters statusCounters;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ChamadoSpatialIndex spatialIndex;
+
+    @Autowired
+    private ChamadoHeatmap heatmap;
+
+    @Autowired
+    private ChamadoSearchIndex searchIndex;
+
+    @Value("${chamado.transition.max-ids}")
+    private int maxTransitionIds;
+
+    @Value("${chamado.search.max-results}")
+    private int maxSearchResults;
+
+    @Value("${chamado.spatial.max-radius-meters}")
+    private double maxRadiusMeters;
+
+    @Value("${chamado.spatial.max-results}")
+    private int maxNearResults;
+
+    public ChamadoService(ChamadoRepository repository, ChamadoMapper mapper) {
+        super(repository, mapper, Chamado.class);
     }
 
+    @Transactional
     @Override
     public EntityModel<ChamadoDTO> create(ChamadoDTO dto) {
         checkAccess(dto.getUsuarioId());
@@ -73,7 +134,9 @@ public class ChamadoService extends GenericService<Chamado, ChamadoDTO, Long> {
             entity.setStatus("PENDENTE");
         }
 
-        ChamadoDTO savedDto = convertToDto(repository.save(entity));
+        Chamado saved = repository.save(entity);
+        eventPublisher.publishEvent(new ChamadoChangedEvent(null, ChamadoSnapshot.of(saved)));
+        ChamadoDTO savedDto = convertToDto(saved);
         StackTraceElement currentMethod = Thread.currentThread().getStackTrace()[1];
         String logMsg = "Chamado criado. ID " + savedDto.getId();
         log.info("{} > {} > {}", currentMethod.getClassName(), currentMethod.getMethodName(), logMsg);
@@ -81,36 +144,165 @@ public class ChamadoService extends GenericService<Chamado, ChamadoDTO, Long> {
         return EntityModel.of(savedDto, generateLinks(savedDto));
     }
 
-    public ResponseEntity<PagedModel<EntityModel<ChamadoDTO>>> findByUserId(Long id, Pageable pageable) {
+    @Transactional(readOnly = true)
+    @Override
+    public ResponseEntity<PagedModel<EntityModel<ChamadoDTO>>> findAll(Pageable pageable) {
+        return findAll(pageable, null);
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<PagedModel<EntityModel<ChamadoDTO>>> findAll(Pageable pageable, String ifNoneMatch) {
+        return toPagedResponse(repository.findSummaries(pageable), ifNoneMatch);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public ResponseEntity<EntityModel<ChamadoDTO>> findById(Long id) {
+        return findById(id, null);
+    }
+
+    /**
+     * Com If-None-Match, a versão é lida sozinha primeiro: se o cliente já tem a versão atual, a resposta
+     * é 304 sem carregar o chamado, o histórico e a avaliação nem passar pelo mapper.
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<EntityModel<ChamadoDTO>> findById(Long id, String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String etag = ETags.strong(repository.findVersionById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Recurso não encontrado.")));
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).eTag(etag).build();
+            }
+        }
+        Chamado entity = repository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Recurso não encontrado."));
+        ChamadoDTO dto = convertToDto(entity);
+        return ResponseEntity.ok()
+                .cacheControl(REVALIDATE)
+                .eTag(ETags.strong(entity.getVersion()))
+                .body(EntityModel.of(dto, generateLinks(dto)));
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<PagedModel<EntityModel<ChamadoDTO>>> findByUserId(Long id, Pageable pageable, String ifNoneMatch) {
+        checkAccess(id);
+        return toPagedResponse(repository.findSummariesByUsuario(id, pageable), ifNoneMatch);
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<PagedModel<EntityModel<ChamadoDTO>>> findBySecretaria(String secretaria, Pageable pageable, String ifNoneMatch) {
+        return toPagedResponse(repository.findSummariesBySecretaria(Secretaria.valueOf(secretaria.toUpperCase()), pageable),
+                ifNoneMatch);
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<CollectionModel<EntityModel<ChamadoDTO>>> scroll(String cursor, int size) {
+        Pageable window = scrollWindow(size);
+        Slice<ChamadoSummary> entities;
+        if (cursor == null) {
+            entities = repository.findFirstWindow(window);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            entities = repository.findWindowAfter(position.timestamp(), position.id(), window);
+        }
+        return ResponseEntity.ok(toScrollModel(entities));
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<CollectionModel<EntityModel<ChamadoDTO>>> scrollByUserId(Long id, String cursor, int size) {
         checkAccess(id);
-        Page<Chamado> entities = repository.findChamadoByUsuario_Id(pageable, id);
-        Page<ChamadoDTO> dtos = entities.map(this::convertToDto);
-        return ResponseEntity.ok(assembler.toModel(dtos, dto -> EntityModel.of(dto, generateLinks(dto))));
+        Pageable window = scrollWindow(size);
+        Slice<ChamadoSummary> entities;
+        if (cursor == null) {
+            entities = repository.findFirstWindowByUsuario(id, window);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            entities = repository.findWindowAfterByUsuario(id, position.timestamp(), position.id(), window);
+        }
+        return ResponseEntity.ok(toScrollModel(entities));
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<CollectionModel<EntityModel<ChamadoDTO>>> scrollBySecretaria(String secretaria, String cursor, int size) {
+        Secretaria value = Secretaria.valueOf(secretaria.toUpperCase());
+        Pageable window = scrollWindow(size);
+        Slice<ChamadoSummary> entities;
+        if (cursor == null) {
+            entities = repository.findFirstWindowBySecretaria(value, window);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            entities = repository.findWindowAfterBySecretaria(value, position.timestamp(), position.id(), window);
+        }
+        return ResponseEntity.ok(toScrollModel(entities));
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<CollectionModel<EntityModel<ChamadoDTO>>> findNear(
+            double lat, double lon, double radius, String status, String secretaria, int limit) {
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+            throw new BadRequestException("Coordenadas inválidas.");
+        }
+        if (radius <= 0 || radius > maxRadiusMeters) {
+            throw new BadRequestException("O raio deve estar entre 0 e " + (long) maxRadiusMeters + " metros.");
+        }
+        if (limit < 1 || limit > maxNearResults) {
+            throw new BadRequestException("O limite deve estar entre 1 e " + maxNearResults + ".");
+        }
+        List<SpatialGrid.Hit> hits = spatialIndex.near(lat, lon, radius,
+                status == null || status.isBlank() ? null : status.toUpperCase(),
+                secretaria == null || secretaria.isBlank() ? null : Secretaria.valueOf(secretaria.toUpperCase()),
+                limit);
+        return ResponseEntity.ok(toOrderedModel(hits.stream().map(SpatialGrid.Hit::id).toList()));
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<CollectionModel<EntityModel<ChamadoDTO>>> search(String query, String status, String secretaria, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Informe o texto da busca.");
+        }
+        if (limit < 1 || limit > maxSearchResults) {
+            throw new BadRequestException("O limite deve estar entre 1 e " + maxSearchResults + ".");
+        }
+        List<InvertedIndex.Hit> hits = searchIndex.search(query,
+                status == null || status.isBlank() ? null : status.toUpperCase(),
+                secretaria == null || secretaria.isBlank() ? null : Secretaria.valueOf(secretaria.toUpperCase()),
+                limit);
+        return ResponseEntity.ok(toOrderedModel(hits.stream().map(InvertedIndex.Hit::id).toList()));
     }
 
-    public ResponseEntity<PagedModel<EntityModel<ChamadoDTO>>> findBySecretaria(String secretaria, Pageable pageable) {
-        Page<Chamado> entities = repository.findChamadoBySecretaria(pageable, Secretaria.valueOf(secretaria.toUpperCase()));
-        Page<ChamadoDTO> dtos = entities.map(this::convertToDto);
-        return ResponseEntity.ok(assembler.toModel(dtos, dto -> EntityModel.of(dto, generateLinks(dto))));
+    public ResponseEntity<HeatmapTile> findTile(int z, int x, int y) {
+        // As contagens mudam a cada chamado; um cache curto basta para o painel não refazer a mesma leitura
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(30, TimeUnit.SECONDS).cachePrivate())
+                .body(heatmap.tile(z, x, y));
     }
 
     public ResponseEntity<List<?>> countBySecretaria(Secretaria secretaria) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         AuthUser currentAuthUser = (AuthUser) authentication.getPrincipal();
         if ("OWNER".equals(currentAuthUser.getRole().toString()) && "ALL".equals(secretaria.toString())) {
-            return ResponseEntity.ok(repository.countByStatus());
+            return ResponseEntity.ok(statusCounters.count(null));
         }
-        return ResponseEntity.ok(repository.countByStatusForSecretaria(secretaria));
+        return ResponseEntity.ok(statusCounters.count(secretaria));
     }
 
+    @Transactional
     @Override
     public ResponseEntity<EntityModel<ChamadoDTO>> update(ChamadoDTO dto) {
         checkSecretariaAccess(dto);
         Chamado entity = repository.findById(dto.getId()).orElseThrow(() ->
                 new ResourceNotFoundException("Nenhum chamado encontrado."));
-        mapper.map(dto, entity);
+        ChamadoSnapshot before = ChamadoSnapshot.of(entity);
+        LocalDateTime dataAbertura = entity.getDataAbertura();
+        mapper.updateEntity(dto, entity);
+        // data_abertura é a chave de partição da tabela e não pode ficar nula
+        if (entity.getDataAbertura() == null) {
+            entity.setDataAbertura(dataAbertura);
+        }
 
-        ChamadoDTO savedDto = convertToDto(repository.save(entity));
+        Chamado saved = repository.save(entity);
+        eventPublisher.publishEvent(new ChamadoChangedEvent(before, ChamadoSnapshot.of(saved)));
+        ChamadoDTO savedDto = convertToDto(saved);
         StackTraceElement currentMethod = Thread.currentThread().getStackTrace()[1];
         String logMsg = "Chamado atualizado. ID " + savedDto.getId();
         log.info("{} > {} > {}", currentMethod.getClassName(), currentMethod.getMethodName(), logMsg);
@@ -118,37 +310,211 @@ public class ChamadoService extends GenericService<Chamado, ChamadoDTO, Long> {
         return ResponseEntity.ok(EntityModel.of(savedDto, generateLinks(savedDto)));
     }
 
+    /**
+     * Muda o status de vários chamados de uma vez. A secretaria do funcionário é resolvida uma única vez
+     * e entra no WHERE do UPDATE junto com o status esperado; o histórico é gravado no mesmo comando.
+     * IDs que não foram alterados são classificados com uma consulta extra, só quando existem.
+     */
+    @Transactional
+    public ResponseEntity<ChamadoTransitionResult> transition(ChamadoTransitionRequest request) {
+        if (request.ids() == null || request.ids().isEmpty()) {
+            throw new BadRequestException("Informe os IDs dos chamados.");
+        }
+        LinkedHashSet<Long> ids = new LinkedHashSet<>(request.ids());
+        ids.remove(null);
+        if (ids.isEmpty() || ids.size() > maxTransitionIds) {
+            throw new BadRequestException("A transição deve ter entre 1 e " + maxTransitionIds + " chamados.");
+        }
+        String statusAnterior = normalizeStatus(request.statusAnterior(), "statusAnterior");
+        String statusNovo = normalizeStatus(request.statusNovo(), "statusNovo");
+        if (statusAnterior.equals(statusNovo)) {
+            throw new BadRequestException("O novo status deve ser diferente do atual.");
+        }
+
+        Funcionario funcionario = currentFuncionario();
+        Secretaria secretaria = funcionario.getSecretaria();
+        if (secretaria == null) {
+            throw new UnauthorizedException("Funcionário sem secretaria não pode alterar o status de chamados.");
+        }
+        List<Object[]> rows = repository.transitionStatus(ids, statusAnterior, statusNovo, secretaria.name(),
+                funcionario.getId(), LocalDateTime.now(), request.observacao());
+
+        Map<Long, ChamadoTransitionResult.Outcome> outcomes = new HashMap<>();
+        for (Object[] row : rows) {
+            Long id = ((Number) row[0]).longValue();
+            Secretaria chamadoSecretaria = row[1] == null ? null : Secretaria.valueOf((String) row[1]);
+            BigDecimal latitude = (BigDecimal) row[2];
+            BigDecimal longitude = (BigDecimal) row[3];
+            String titulo = (String) row[4];
+            String descricao = (String) row[5];
+            eventPublisher.publishEvent(new ChamadoChangedEvent(
+                    new ChamadoSnapshot(id, chamadoSecretaria, statusAnterior, latitude, longitude, titulo, descricao),
+                    new ChamadoSnapshot(id, chamadoSecretaria, statusNovo, latitude, longitude, titulo, descricao)));
+            outcomes.put(id, ChamadoTransitionResult.Outcome.UPDATED);
+        }
+
+        if (outcomes.size() < ids.size()) {
+            List<Long> skipped = ids.stream().filter(id -> !outcomes.containsKey(id)).toList();
+            for (Object[] row : repository.findStatusByIdIn(skipped)) {
+                Secretaria chamadoSecretaria = (Secretaria) row[2];
+                outcomes.put((Long) row[0], secretaria != Secretaria.ALL && secretaria != chamadoSecretaria
+                        ? ChamadoTransitionResult.Outcome.FORBIDDEN
+                        : ChamadoTransitionResult.Outcome.STATUS_CONFLICT);
+            }
+        }
+
+        Map<Long, ChamadoTransitionResult.Outcome> results = new LinkedHashMap<>();
+        for (Long id : ids) {
+            results.put(id, outcomes.getOrDefault(id, ChamadoTransitionResult.Outcome.NOT_FOUND));
+        }
+        StackTraceElement currentMethod = Thread.currentThread().getStackTrace()[1];
+        String logMsg = rows.size() + " chamados passaram de " + statusAnterior + " para " + statusNovo + ".";
+        log.info("{} > {} > {}", currentMethod.getClassName(), currentMethod.getMethodName(), logMsg);
+
+        return ResponseEntity.ok(new ChamadoTransitionResult(rows.size(), results));
+    }
+
+    @Transactional
     @Override
     public void delete(Long id) {
         Chamado entity = repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Nenhum chamado encontrado."));
         checkAccess(entity.getUsuario().getId());
         repository.delete(entity);
+        eventPublisher.publishEvent(new ChamadoChangedEvent(ChamadoSnapshot.of(entity), null));
     }
 
-    public void checkSecretariaAccess(ChamadoDTO dto) {
-        if (dto.getSecretaria() == null) {
-            throw new RuntimeException("A secretaria não pode ser atualizada para nula.");
+    /**
+     * A página já vem da projeção leve; com ETag igual, o 304 evita só a montagem dos links e a serialização.
+     */
+    private ResponseEntity<PagedModel<EntityModel<ChamadoDTO>>> toPagedResponse(Page<ChamadoSummary> page, String ifNoneMatch) {
+        String etag = pageETag(page);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).eTag(etag).build();
+        }
+        Page<ChamadoDTO> dtos = page.map(ChamadoSummary::toDto);
+        return ResponseEntity.ok()
+                .cacheControl(REVALIDATE)
+                .eTag(etag)
+                .body(assembler.toModel(dtos, dto -> EntityModel.of(dto, generateLinks(dto))));
+    }
+
+    /**
+     * ETag fraco da página: maior versão da página, total de elementos e os pares (id, versão).
+     * A maior versão sozinha não basta, porque cada chamado tem a própria contagem e entradas ou saídas
+     * da página não a alteram.
+     */
+    private static String pageETag(Page<ChamadoSummary> page) {
+        long maxVersion = 0;
+        long hash = 0xcbf29ce484222325L ^ page.getTotalElements();
+        for (ChamadoSummary summary : page.getContent()) {
+            long version = summary.version() == null ? 0 : summary.version();
+            maxVersion = Math.max(maxVersion, version);
+            hash = (hash ^ summary.id()) * 0x100000001b3L;
+            hash = (hash ^ version) * 0x100000001b3L;
         }
+        return ETags.weak((hash ^ maxVersion) * 0x100000001b3L);
+    }
+
+    /**
+     * Carrega os resumos dos IDs em uma consulta e devolve na ordem recebida (distância, relevância...).
+     */
+    private CollectionModel<EntityModel<ChamadoDTO>> toOrderedModel(List<Long> ids) {
+        Map<Long, ChamadoSummary> summaries = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (ChamadoSummary summary : repository.findSummariesByIdIn(ids)) {
+                summaries.put(summary.id(), summary);
+            }
+        }
+        List<EntityModel<ChamadoDTO>> content = ids.stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .map(ChamadoSummary::toDto)
+                .map(dto -> EntityModel.of(dto, generateLinks(dto)))
+                .toList();
+        return CollectionModel.of(content,
+                Link.of(ServletUriComponentsBuilder.fromCurrentRequest().toUriString()).withSelfRel());
+    }
+
+    private Pageable scrollWindow(int size) {
+        if (size < 1 || size > MAX_SCROLL_SIZE) {
+            throw new BadRequestException("O tamanho da página deve estar entre 1 e " + MAX_SCROLL_SIZE + ".");
+        }
+        // Sem ordenação no Pageable: a ordem do keyset já está no JPQL
+        return PageRequest.of(0, size);
+    }
+
+    /**
+     * Slice não dispara COUNT: o Spring Data busca size + 1 linhas só para saber se há próxima janela.
+     * O link "next" carrega o cursor do último chamado entregue.
+     */
+    private CollectionModel<EntityModel<ChamadoDTO>> toScrollModel(Slice<ChamadoSummary> entities) {
+        List<EntityModel<ChamadoDTO>> content = entities.getContent().stream()
+                .map(ChamadoSummary::toDto)
+                .map(dto -> EntityModel.of(dto, generateLinks(dto)))
+                .toList();
+        CollectionModel<EntityModel<ChamadoDTO>> model = CollectionModel.of(content,
+                Link.of(ServletUriComponentsBuilder.fromCurrentRequest().toUriString()).withSelfRel());
+        if (entities.hasNext()) {
+            ChamadoSummary last = entities.getContent().get(entities.getNumberOfElements() - 1);
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", new KeysetCursor(last.dataAbertura(), last.id()).encode())
+                    .toUriString();
+            model.add(Link.of(next, IanaLinkRelations.NEXT));
+        }
+        return model;
+    }
+
+    private static String normalizeStatus(String status, String field) {
+        if (status == null || status.isBlank()) {
+            throw new BadRequestException(field + " é obrigatório.");
+        }
+        String normalized = status.trim().toUpperCase();
+        if (normalized.length() > 50) {
+            throw new BadRequestException(field + " deve ter no máximo 50 caracteres.");
+        }
+        return normalized;
+    }
+
+    private Funcionario currentFuncionario() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        AuthUser currentAuthUser = (AuthUser) authentication.getPrincipal();
+        return currentAuthUser.getFuncionario() != null && currentAuthUser.getFuncionario().getSecretaria() != null
+                ? currentAuthUser.getFuncionario()
+                : funcionarioRepository.findByAuthUser_Id(currentAuthUser.getId())
+                        .orElseThrow(() -> new RuntimeException("Nenhum funcionario encontrado."));
+    }
+
+    private Secretaria currentSecretaria() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         AuthUser currentAuthUser = (AuthUser) authentication.getPrincipal();
-        Funcionario entity = funcionarioRepository.findByAuthUser_Id(currentAuthUser.getId())
+        if (currentAuthUser.getFuncionario() != null && currentAuthUser.getFuncionario().getSecretaria() != null) {
+            return currentAuthUser.getFuncionario().getSecretaria();
+        }
+        return ownershipIndex.secretariaOf(currentAuthUser.getId())
                 .orElseThrow(() -> new RuntimeException("Nenhum funcionario encontrado."));
-        if (Secretaria.valueOf(dto.getSecretaria()) != entity.getSecretaria() && entity.getSecretaria() != Secretaria.ALL) {
+    }
+
+    public void checkSecretariaAccess(ChamadoDTO dto) {
+        if (dto.getSecretaria() == null) {
+            throw new RuntimeException("A secretaria não pode ser atualizada para nula.");
+        }
+        Secretaria secretaria = currentSecretaria();
+        if (Secretaria.valueOf(dto.getSecretaria()) != secretaria && secretaria != Secretaria.ALL) {
             throw new UnauthorizedException("Você não tem permissão para atualizar um recurso nessa secretaria.");
         }
     }
 
     @Override
     protected Link[] generateLinks(ChamadoDTO dto) {
-        return new Link[] {
+        return linkTemplates.expand(ChamadoController.class, dto.getId(), id -> new Link[] {
                 WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(ChamadoController.class)
-                        .findById(dto.getId())).withSelfRel(),
+                        .findById(id, null)).withSelfRel(),
                 WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(ChamadoController.class)
-                        .findAll(Pageable.unpaged())).withRel("chamados"),
+                        .findAll(Pageable.unpaged(), null)).withRel("chamados"),
                 WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(ChamadoController.class)
-                        .delete(dto.getId())).withRel("delete")
-        };
+                        .delete(id)).withRel("delete")
+        });
     }
 
     @Override
@@ -0,0 +1,120 @@
+package com.fiec.voz_cidada.service;
+
+import com.fiec.voz_cidada.domain.chamado.ChamadoChangedEvent;
+import com.fiec.voz_cidada.domain.chamado.ChamadoSnapshot;
+import com.fiec.voz_cidada.domain.chamado.Secretaria;
+import com.fiec.voz_cidada.geo.SpatialGrid;
+import com.fiec.voz_cidada.repository.ChamadoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Chamados com latitude/longitude em um SpatialGrid, carregados na inicialização e mantidos pelos
+ * ChamadoChangedEvent depois de cada commit. Um job periódico monta uma grade nova a partir do banco e
+ * a troca pela atual, o que corrige alterações que não passaram pelos eventos.
+ */
+@Slf4j
+@Component
+public class ChamadoSpatialIndex {
+
+    private static final int NULL_CODE = -1;
+    private static final int UNKNOWN_CODE = -2;
+
+    private final ChamadoRepository repository;
+    private final double cellSizeMeters;
+    private final RebuildableState<SpatialGrid, ChamadoChangedEvent> grid;
+    private final Map<String, Integer> statusCodes = new ConcurrentHashMap<>();
+    private final AtomicInteger nextStatusCode = new AtomicInteger();
+
+    public ChamadoSpatialIndex(
+            ChamadoRepository repository,
+            @Value("${chamado.spatial.cell-size-meters}") double cellSizeMeters)
+    {
+        this.repository = repository;
+        this.cellSizeMeters = cellSizeMeters;
+        this.grid = new RebuildableState<>(newGrid(), this::apply);
+    }
+
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    @Transactional
+    @Scheduled(initialDelayString = "${chamado.spatial.rebuild-interval}", fixedDelayString = "${chamado.spatial.rebuild-interval}")
+    public void rebuild() {
+        try {
+            grid.rebuild(() -> {
+                SpatialGrid fresh = newGrid();
+                try (Stream<ChamadoSnapshot> snapshots = repository.streamLocatedSnapshots()) {
+                    snapshots.forEach(snapshot -> put(fresh, snapshot));
+                }
+                return fresh;
+            });
+        } catch (RuntimeException e) {
+            log.error("Falha ao carregar o índice espacial dos chamados.", e);
+            return;
+        }
+        log.info("{} chamados carregados no índice espacial.", grid.get().size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChamadoChanged(ChamadoChangedEvent event) {
+        grid.apply(event);
+    }
+
+    /**
+     * @param status     filtro opcional (nulo = qualquer)
+     * @param secretaria filtro opcional (nulo = qualquer)
+     */
+    public List<SpatialGrid.Hit> near(double lat, double lon, double radiusMeters, String status, Secretaria secretaria, int limit) {
+        int statusFilter = status == null ? SpatialGrid.ANY : statusCodes.getOrDefault(status, UNKNOWN_CODE);
+        int secretariaFilter = secretaria == null ? SpatialGrid.ANY : secretaria.ordinal();
+        return grid.get().near(lat, lon, radiusMeters, statusFilter, secretariaFilter, limit);
+    }
+
+    private void apply(SpatialGrid target, ChamadoChangedEvent event) {
+        if (event.after() != null && event.after().latitude() != null && event.after().longitude() != null) {
+            put(target, event.after());
+            return;
+        }
+        ChamadoSnapshot removed = event.after() != null ? event.after() : event.before();
+        if (removed != null) {
+            target.remove(removed.id());
+        }
+    }
+
+    private void put(SpatialGrid target, ChamadoSnapshot snapshot) {
+        target.put(snapshot.id(),
+                snapshot.latitude().doubleValue(),
+                snapshot.longitude().doubleValue(),
+                statusCode(snapshot.status()),
+                snapshot.secretaria() == null ? NULL_CODE : snapshot.secretaria().ordinal());
+    }
+
+    private SpatialGrid newGrid() {
+        return new SpatialGrid(cellSizeMeters, 1 << 16);
+    }
+
+    private int statusCode(String status) {
+        if (status == null) {
+            return NULL_CODE;
+        }
+        // Os status são poucos e repetidos; cada um vira um int para o filtro não comparar strings
+        return statusCodes.computeIfAbsent(status, key -> nextStatusCode.getAndIncrement());
+    }
+
+}
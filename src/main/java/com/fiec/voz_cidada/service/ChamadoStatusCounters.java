@@ -0,0 +1,136 @@
+package com.fiec.voz_cidada.service;
+
+import com.fiec.voz_cidada.domain.chamado.ChamadoChangedEvent;
+import com.fiec.voz_cidada.domain.chamado.ChamadoSnapshot;
+import com.fiec.voz_cidada.domain.chamado.Secretaria;
+import com.fiec.voz_cidada.repository.ChamadoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contagem de chamados por secretaria e status mantida em memória a partir dos ChamadoChangedEvent.
+ * Os eventos só são aplicados depois do commit, e um job periódico recalcula tudo com um GROUP BY
+ * para corrigir alterações feitas fora do ChamadoService (ex.: exclusões em cascata).
+ */
+@Slf4j
+@Component
+public class ChamadoStatusCounters {
+
+    private final ChamadoRepository repository;
+    private final RebuildableState<Map<CounterKey, LongAdder>, ChamadoChangedEvent> counts =
+            new RebuildableState<>(new ConcurrentHashMap<>(), ChamadoStatusCounters::apply);
+
+    public ChamadoStatusCounters(ChamadoRepository repository) {
+        this.repository = repository;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChamadoChanged(ChamadoChangedEvent event) {
+        counts.apply(event);
+    }
+
+    /**
+     * Mesmo formato de ChamadoRepository.countByStatus / countByStatusForSecretaria: pares [status, total].
+     * Secretaria nula soma todas as secretarias.
+     */
+    public List<Object[]> count(Secretaria secretaria) {
+        if (!counts.isLoaded()) {
+            return secretaria == null
+                    ? repository.countByStatus()
+                    : repository.countByStatusForSecretaria(secretaria);
+        }
+        Map<String, Long> totals = new HashMap<>();
+        counts.get().forEach((key, adder) -> {
+            if (secretaria == null || key.secretaria() == secretaria) {
+                totals.merge(key.status(), adder.sum(), Long::sum);
+            }
+        });
+        List<Object[]> result = new ArrayList<>(totals.size());
+        totals.forEach((status, total) -> {
+            if (total > 0) {
+                result.add(new Object[] { status, total });
+            }
+        });
+        return result;
+    }
+
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reconcile();
+    }
+
+    @Transactional
+    @Scheduled(initialDelayString = "${chamado.counters.reconcile-interval}", fixedDelayString = "${chamado.counters.reconcile-interval}")
+    public void reconcile() {
+        boolean wasLoaded = counts.isLoaded();
+        Map<CounterKey, LongAdder> fresh = new ConcurrentHashMap<>();
+        Map<CounterKey, LongAdder> previous;
+        try {
+            previous = counts.rebuild(() -> {
+                for (Object[] row : repository.countBySecretariaAndStatus()) {
+                    adder(fresh, new CounterKey((Secretaria) row[0], (String) row[1])).add((Long) row[2]);
+                }
+                return fresh;
+            });
+        } catch (RuntimeException e) {
+            log.error("Falha ao reconciliar os contadores de status dos chamados.", e);
+            return;
+        }
+
+        if (wasLoaded) {
+            Set<CounterKey> keys = new HashSet<>(fresh.keySet());
+            keys.addAll(previous.keySet());
+            long drift = keys.stream()
+                    .filter(key -> sum(previous, key) != sum(fresh, key))
+                    .count();
+            if (drift > 0) {
+                log.info("Contadores de status dos chamados corrigidos em {} combinações de secretaria/status.", drift);
+            }
+        }
+    }
+
+    private static void apply(Map<CounterKey, LongAdder> target, ChamadoChangedEvent event) {
+        ChamadoSnapshot before = event.before();
+        ChamadoSnapshot after = event.after();
+        if (before != null && after != null
+                && before.secretaria() == after.secretaria()
+                && Objects.equals(before.status(), after.status())) {
+            return;
+        }
+        if (before != null) {
+            adder(target, new CounterKey(before.secretaria(), before.status())).decrement();
+        }
+        if (after != null) {
+            adder(target, new CounterKey(after.secretaria(), after.status())).increment();
+        }
+    }
+
+    private static LongAdder adder(Map<CounterKey, LongAdder> map, CounterKey key) {
+        return map.computeIfAbsent(key, k -> new LongAdder());
+    }
+
+    private static long sum(Map<CounterKey, LongAdder> map, CounterKey key) {
+        LongAdder adder = map.get(key);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    private record CounterKey(Secretaria secretaria, String status) {
+    }
+
+}
@@ -1,5 +1,7 @@
 package com.fiec.voz_cidada.service;
 
+import com.fiec.voz_cidada.config.security.OwnershipIndex;
+import com.fiec.voz_cidada.config.security.PrincipalCache;
 import com.fiec.voz_cidada.controller.FuncionarioController;
 import com.fiec.voz_cidada.domain.auth_user.AuthUser;
 import com.fiec.voz_cidada.domain.chamado.ChamadoDTO;
@@ -12,7 +14,7 @@ import com.fiec.voz_cidada.exceptions.ResourceNotFoundException;
 import com.fiec.voz_cidada.exceptions.UnauthorizedException;
 import com.fiec.voz_cidada.repository.AuthRepository;
 import com.fiec.voz_cidada.repository.FuncionarioRepository;
-import jakarta.transaction.Transactional;
+import com.fiec.voz_cidada.mapper.FuncionarioMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.coyote.Response;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +26,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 
@@ -37,8 +40,11 @@ public class FuncionarioService extends GenericService<Funcionario, FuncionarioD
     @Autowired
     private AuthRepository authRepository;
 
-    public FuncionarioService(FuncionarioRepository repository) {
-        super(repository, FuncionarioDTO.class, Funcionario.class);
+    @Autowired
+    private PrincipalCache principalCache;
+
+    public FuncionarioService(FuncionarioRepository repository, FuncionarioMapper mapper) {
+        super(repository, mapper, Funcionario.class);
     }
 
     public EntityModel<FuncionarioDTO> createAdminProfile(FuncionarioDTO dto) {
@@ -48,7 +54,10 @@ public class FuncionarioService extends GenericService<Funcionario, FuncionarioD
         entity.setAuthUser(authUser);
         entity.setDataCadastro(LocalDateTime.now());
 
-        FuncionarioDTO savedDto = convertToDto(repository.save(entity));
+        Funcionario saved = repository.save(entity);
+        FuncionarioDTO savedDto = convertToDto(saved);
+        principalCache.invalidate(authUser.getId());
+        ownershipIndex.funcionarioSaved(saved.getId(), authUser.getId(), saved.getSecretaria());
         StackTraceElement currentMethod = Thread.currentThread().getStackTrace()[1];
         String logMsg = "Perfil de administrador criado. ID " + savedDto.getId();
         log.info("{} > {} > {}", currentMethod.getClassName(), currentMethod.getMethodName(), logMsg);
@@ -56,6 +65,7 @@ public class FuncionarioService extends GenericService<Funcionario, FuncionarioD
         return EntityModel.of(savedDto, generateLinks(savedDto));
     }
 
+    @Transactional(readOnly = true)
     public ResponseEntity<EntityModel<FuncionarioDTO>> findById(Long id) {
         checkAccess(id);
         EntityModel<FuncionarioDTO> model = repository.findById(id)
@@ -65,6 +75,7 @@ public class FuncionarioService extends GenericService<Funcionario, FuncionarioD
         return ResponseEntity.ok(model);
     }
 
+    @Transactional(readOnly = true)
     public EntityModel<FuncionarioDTO> findByAuthUserId(Long authUserId) {
         try {
             var entity = repository.findByAuthUser_Id(authUserId)
@@ -79,19 +90,23 @@ public class FuncionarioService extends GenericService<Funcionario, FuncionarioD
 
     public void delete(Long id) {
         checkAccess(id);
+        repository.findById(id).ifPresent(entity -> {
+            principalCache.invalidate(entity.getAuthUser().getId());
+            ownershipIndex.funcionarioDeleted(entity.getId(), entity.getAuthUser().getId());
+        });
         repository.deleteById(id);
     }
 
     @Override
     protected Link[] generateLinks(FuncionarioDTO dto) {
-        return new Link[] {
+        return linkTemplates.expand(FuncionarioController.class, dto.getId(), id -> new Link[] {
                 WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(FuncionarioController.class)
-                        .findById(dto.getId())).withSelfRel(),
+                        .findById(id)).withSelfRel(),
                 WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(FuncionarioController.class)
                         .findAll(Pageable.unpaged())).withRel("funcionarios"),
                 WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(FuncionarioController.class)
-                        .delete(dto.getId())).withRel("delete")
-        };
+                        .delete(id)).withRel("delete")
+        });
     }
 
     @Override
@@ -107,9 +122,18 @@ public class FuncionarioService extends GenericService<Funcionario, FuncionarioD
             return;
         }
 
-        Funcionario entity = repository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado."));
-        if (!entity.getAuthUser().getId().equals(currentAuthUser.getId())) {
+        if (currentAuthUser.getFuncionario() != null && currentAuthUser.getFuncionario().getId() != null) {
+            if (!currentAuthUser.getFuncionario().getId().equals(userId)) {
+                throw new UnauthorizedException("Você não tem permissão para acessar este recurso.");
+            }
+            return;
+        }
+
+        long owner = ownershipIndex.authUserOfFuncionario(userId);
+        if (owner == OwnershipIndex.NONE) {
+            throw new ResourceNotFoundException("Usuário não encontrado.");
+        }
+        if (owner != currentAuthUser.getId()) {
             throw new UnauthorizedException("Você não tem permissão para acessar este recurso.");
         }
     }
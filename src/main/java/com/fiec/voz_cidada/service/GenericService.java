@@ -1,17 +1,16 @@
 package com.fiec.voz_cidada.service;
 
+import com.fiec.voz_cidada.config.LinkTemplateCache;
+import com.fiec.voz_cidada.config.security.OwnershipIndex;
 import com.fiec.voz_cidada.domain.auth_user.AuthUser;
 import com.fiec.voz_cidada.domain.chamado.ChamadoDTO;
 import com.fiec.voz_cidada.domain.chamado.Secretaria;
 import com.fiec.voz_cidada.domain.funcionario.Funcionario;
-import com.fiec.voz_cidada.domain.usuario.Usuario;
 import com.fiec.voz_cidada.exceptions.ResourceNotFoundException;
 import com.fiec.voz_cidada.exceptions.UnauthorizedException;
+import com.fiec.voz_cidada.mapper.DtoMapper;
 import com.fiec.voz_cidada.repository.GenericRepository;
-import com.fiec.voz_cidada.repository.UsuarioRepository;
-import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -23,6 +22,7 @@ import org.springframework.hateoas.RepresentationModel;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.swing.text.html.parser.Entity;
 import java.io.Serializable;
@@ -31,32 +31,34 @@ import java.io.Serializable;
 public abstract class GenericService<T, D extends RepresentationModel<D>, ID extends Serializable> {
 
     private final GenericRepository<T, ID> repository;
-    private final Class<D> dtoClass;
     private final Class<T> entityClass;
+    protected final DtoMapper<T, D> mapper;
 
     @Autowired
-    protected ModelMapper mapper;
-    @Autowired
-    private UsuarioRepository usuarioRepository;
+    protected OwnershipIndex ownershipIndex;
     @Autowired
     protected PagedResourcesAssembler<D> assembler;
+    @Autowired
+    protected LinkTemplateCache linkTemplates;
 
     protected GenericService(
             GenericRepository<T, ID> repository,
-            Class<D> dtoClass,
+            DtoMapper<T, D> mapper,
             Class<T> entityClass
     ) {
         this.repository = repository;
-        this.dtoClass = dtoClass;
+        this.mapper = mapper;
         this.entityClass = entityClass;
     }
 
+    @Transactional(readOnly = true)
     public ResponseEntity<PagedModel<EntityModel<D>>> findAll(Pageable pageable) {
         Page<T> entities = repository.findAll(pageable);
         Page<D> dtos = entities.map(this::convertToDto);
         return ResponseEntity.ok(assembler.toModel(dtos, dto -> EntityModel.of(dto, generateLinks(dto))));
     }
 
+    @Transactional(readOnly = true)
     public ResponseEntity<EntityModel<D>> findById(ID id) {
         EntityModel<D> model = repository.findById(id)
                 .map(this::convertToDto)
@@ -81,7 +83,7 @@ public abstract class GenericService<T, D extends RepresentationModel<D>, ID ext
         ID id = getResourceID(dto);
         T existingEntity = repository.findById(id).orElseThrow(() ->
                 new ResourceNotFoundException("Nenhum recurso com ID " + id + " encontrado."));
-        mapper.map(dto, existingEntity);
+        mapper.updateEntity(dto, existingEntity);
         D savedDto = convertToDto(repository.save(existingEntity));
         return ResponseEntity.ok(EntityModel.of(savedDto, generateLinks(savedDto)));
     }
@@ -103,22 +105,34 @@ public abstract class GenericService<T, D extends RepresentationModel<D>, ID ext
             return;
         }
 
-        Usuario entity = usuarioRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado."));
-        if (!entity.getAuthUser().getId().equals(currentAuthUser.getId())) {
+        if (currentAuthUser.getProfile() != null && currentAuthUser.getProfile().getId() != null) {
+            if (!currentAuthUser.getProfile().getId().equals(userId)) {
+                throw new UnauthorizedException("Você não tem permissão para acessar este recurso.");
+            }
+            return;
+        }
+
+        long owner = ownershipIndex.authUserOfUsuario(userId);
+        if (owner == OwnershipIndex.NONE) {
+            throw new ResourceNotFoundException("Usuário não encontrado.");
+        }
+        if (owner != currentAuthUser.getId()) {
             throw new UnauthorizedException("Você não tem permissão para acessar este recurso.");
         }
     }
 
 
     public D convertToDto(T entity) {
-        return mapper.map(entity, dtoClass);
+        return mapper.toDto(entity);
     }
 
     public T convertToEntity(D dto) {
-        return mapper.map(dto, entityClass);
+        return mapper.toEntity(dto);
     }
 
+    /**
+     * Implementações devem passar por linkTemplates.expand para que cada rota seja resolvida uma vez por base URI.
+     */
     protected abstract Link[] generateLinks(D dto);
 
     public abstract ID getResourceID(D dto);
@@ -4,23 +4,124 @@ import com.fiec.voz_cidada.controller.HistoricoController;
 import com.fiec.voz_cidada.domain.chamado.Chamado;
 import com.fiec.voz_cidada.domain.historico.HistoricoDTO;
 import com.fiec.voz_cidada.domain.historico.HistoricoChamado;
+import com.fiec.voz_cidada.domain.historico.HistoricoSummary;
+import com.fiec.voz_cidada.exceptions.BadRequestException;
 import com.fiec.voz_cidada.exceptions.ResourceNotFoundException;
+import com.fiec.voz_cidada.repository.ChamadoRepository;
 import com.fiec.voz_cidada.repository.HistoricoRepository;
+import com.fiec.voz_cidada.mapper.HistoricoMapper;
+import com.fiec.voz_cidada.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
 import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
 
 @Service
 public class HistoricoService extends GenericService<HistoricoChamado, HistoricoDTO, Long> {
 
+    private static final int MAX_TIMELINE_SIZE = 100;
+
     @Autowired
     private HistoricoRepository repository;
 
-    public HistoricoService(HistoricoRepository repository) {
-        super(repository, HistoricoDTO.class, HistoricoChamado.class);
+    @Autowired
+    private ChamadoRepository chamadoRepository;
+
+    public HistoricoService(HistoricoRepository repository, HistoricoMapper mapper) {
+        super(repository, mapper, HistoricoChamado.class);
+    }
+
+    // historico_chamado não tem mais FK para chamado (tabelas particionadas, V10): a existência é checada aqui
+    @Override
+    public EntityModel<HistoricoDTO> create(HistoricoDTO dto) {
+        checkChamadoExists(dto.getChamadoId());
+        EntityModel<HistoricoDTO> model = super.create(dto);
+        chamadoRepository.incrementVersion(dto.getChamadoId());
+        return model;
+    }
+
+    /**
+     * Listagem e detalhe leem a projeção HistoricoSummary: os @ManyToOne de chamado e funcionário (e o que eles
+     * carregam) não são buscados só para devolver os IDs.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseEntity<PagedModel<EntityModel<HistoricoDTO>>> findAll(Pageable pageable) {
+        Page<HistoricoDTO> dtos = repository.findSummaries(pageable).map(HistoricoSummary::toDto);
+        return ResponseEntity.ok(assembler.toModel(dtos, dto -> EntityModel.of(dto, generateLinks(dto))));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseEntity<EntityModel<HistoricoDTO>> findById(Long id) {
+        HistoricoDTO dto = repository.findSummaryById(id)
+                .map(HistoricoSummary::toDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Nenhum histórico encontrado."));
+        return ResponseEntity.ok(EntityModel.of(dto, generateLinks(dto)));
+    }
+
+    /**
+     * Linha do tempo de um chamado, do registro mais antigo para o mais recente, paginada por cursor.
+     * Lê só a projeção HistoricoSummary pelo índice (chamado_id, data_modificacao, id); o Slice não dispara COUNT.
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<CollectionModel<EntityModel<HistoricoDTO>>> timeline(Long chamadoId, String cursor, int size) {
+        if (size < 1 || size > MAX_TIMELINE_SIZE) {
+            throw new BadRequestException("O tamanho da página deve estar entre 1 e " + MAX_TIMELINE_SIZE + ".");
+        }
+        Pageable window = PageRequest.of(0, size);
+        Slice<HistoricoSummary> entities;
+        if (cursor == null) {
+            entities = repository.findFirstTimelineWindow(chamadoId, window);
+            // Só a primeira janela vazia pode significar chamado inexistente; as seguintes apenas acabaram
+            if (!entities.hasContent() && !chamadoRepository.existsById(chamadoId)) {
+                throw new ResourceNotFoundException("Nenhum chamado encontrado.");
+            }
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            entities = repository.findTimelineWindowAfter(chamadoId, position.timestamp(), position.id(), window);
+        }
+
+        List<EntityModel<HistoricoDTO>> content = entities.getContent().stream()
+                .map(HistoricoSummary::toDto)
+                .map(dto -> EntityModel.of(dto, generateLinks(dto)))
+                .toList();
+        CollectionModel<EntityModel<HistoricoDTO>> model = CollectionModel.of(content,
+                Link.of(ServletUriComponentsBuilder.fromCurrentRequest().toUriString()).withSelfRel());
+        if (entities.hasNext()) {
+            HistoricoSummary last = entities.getContent().get(entities.getNumberOfElements() - 1);
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", new KeysetCursor(last.dataModificacao(), last.id()).encode())
+                    .toUriString();
+            model.add(Link.of(next, IanaLinkRelations.NEXT));
+        }
+        return ResponseEntity.ok(model);
+    }
+
+    @Override
+    public ResponseEntity<EntityModel<HistoricoDTO>> update(HistoricoDTO dto) {
+        Long chamadoId = repository.findChamadoIdById(dto.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Nenhum histórico encontrado."));
+        // O histórico não muda de chamado: o update não reatribui a associação
+        if (dto.getChamadoId() != null && !dto.getChamadoId().equals(chamadoId)) {
+            throw new BadRequestException("O histórico não pode ser movido para outro chamado.");
+        }
+        ResponseEntity<EntityModel<HistoricoDTO>> response = super.update(dto);
+        chamadoRepository.incrementVersion(chamadoId);
+        return response;
     }
 
     @Override
@@ -29,18 +130,25 @@ public class HistoricoService extends GenericService<HistoricoChamado, Historico
                 .orElseThrow(() -> new ResourceNotFoundException("Nenhum histórico encontrado."));
         checkAccess(entity.getChamado().getUsuario().getId());
         repository.delete(entity);
+        chamadoRepository.incrementVersion(entity.getChamado().getId());
+    }
+
+    private void checkChamadoExists(Long chamadoId) {
+        if (chamadoId == null || !chamadoRepository.existsById(chamadoId)) {
+            throw new ResourceNotFoundException("Nenhum chamado encontrado.");
+        }
     }
 
     @Override
     protected Link[] generateLinks(HistoricoDTO dto) {
-        return new Link[] {
+        return linkTemplates.expand(HistoricoController.class, dto.getId(), id -> new Link[] {
                 WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(HistoricoController.class)
-                        .findById(dto.getId())).withSelfRel(),
+                        .findById(id)).withSelfRel(),
                 WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(HistoricoController.class)
                         .findAll(Pageable.unpaged())).withRel("historicos"),
                 WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(HistoricoController.class)
-                        .delete(dto.getId())).withRel("delete")
-        };
+                        .delete(id)).withRel("delete")
+        });
     }
 
     @Override
@@ -18,8 +18,11 @@ public class NotificationService {
     AuthRepository repository;
 
     public void setToken(AuthUser user, String fcmToken) {
-        user.setFcmToken(fcmToken.replaceAll("\"", ""));
-        repository.save(user);
+        // O principal pode vir do cache ou apenas das claims do token, então a entidade é recarregada antes de salvar
+        AuthUser entity = repository.findById(user.getId())
+                .orElseThrow(() -> new InvalidAuthenticationException("Usuário não autenticado."));
+        entity.setFcmToken(fcmToken.replaceAll("\"", ""));
+        repository.save(entity);
     }
     
     public String sendNotificationToUser(NotificationMessage dto) throws FirebaseMessagingException {
@@ -0,0 +1,81 @@
+package com.fiec.voz_cidada.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Estado em memória montado a partir do banco e mantido por eventos aplicados depois do commit
+ * (contadores, índices e agregados de chamados e avaliações).
+ * rebuild() monta um estado novo enquanto os eventos continuam indo para o atual; os eventos recebidos durante a
+ * carga são guardados e reaplicados no estado novo, e a troca acontece sob o mesmo lock dos eventos, então nenhum
+ * evento cai no estado descartado. Um evento que a leitura do banco já viu também é reaplicado: em estados
+ * idempotentes (put/remove por ID) isso não muda nada, e em contagens a diferença é corrigida no rebuild seguinte.
+ * Quem chama rebuild() deve estar em uma transação que não seja readOnly, para que a carga leia do primário e
+ * não de uma réplica atrasada.
+ */
+final class RebuildableState<S, E> {
+
+    private final BiConsumer<S, E> applier;
+    private final Object lock = new Object();
+    private volatile S state;
+    private volatile boolean loaded;
+    private List<E> eventsDuringLoad;
+
+    RebuildableState(S initial, BiConsumer<S, E> applier) {
+        this.state = initial;
+        this.applier = applier;
+    }
+
+    S get() {
+        return state;
+    }
+
+    /**
+     * true depois do primeiro rebuild() concluído.
+     */
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    void apply(E event) {
+        synchronized (lock) {
+            applier.accept(state, event);
+            if (eventsDuringLoad != null) {
+                eventsDuringLoad.add(event);
+            }
+        }
+    }
+
+    /**
+     * Monta um estado novo com loader, reaplica nele os eventos recebidos durante a carga e o troca pelo atual.
+     * Se loader falhar, a exceção é propagada e o estado atual continua em uso.
+     * @return o estado substituído
+     */
+    synchronized S rebuild(Supplier<S> loader) {
+        List<E> pending = new ArrayList<>();
+        synchronized (lock) {
+            eventsDuringLoad = pending;
+        }
+        S fresh;
+        try {
+            fresh = loader.get();
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                eventsDuringLoad = null;
+            }
+            throw e;
+        }
+        S previous;
+        synchronized (lock) {
+            pending.forEach(event -> applier.accept(fresh, event));
+            previous = state;
+            state = fresh;
+            eventsDuringLoad = null;
+        }
+        loaded = true;
+        return previous;
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.fiec.voz_cidada.service;
 
+import com.fiec.voz_cidada.config.security.PrincipalCache;
 import com.fiec.voz_cidada.controller.UsuarioController;
 import com.fiec.voz_cidada.domain.auth_user.AuthUser;
 import com.fiec.voz_cidada.domain.usuario.UsuarioDTO;
@@ -8,8 +9,8 @@ import com.fiec.voz_cidada.exceptions.InvalidAuthenticationException;
 import com.fiec.voz_cidada.exceptions.ResourceNotFoundException;
 import com.fiec.voz_cidada.repository.AuthRepository;
 import com.fiec.voz_cidada.repository.UsuarioRepository;
+import com.fiec.voz_cidada.mapper.UsuarioMapper;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.hateoas.EntityModel;
@@ -18,6 +19,7 @@ import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
@@ -25,15 +27,19 @@ public class UsuarioService extends GenericService<Usuario, UsuarioDTO, Long> {
 
     private final UsuarioRepository usuarioRepository;
     private final AuthRepository authRepository;
+    private final PrincipalCache principalCache;
 
     public UsuarioService(
             UsuarioRepository repository,
             UsuarioRepository usuarioRepository,
-            AuthRepository authRepository)
+            AuthRepository authRepository,
+            PrincipalCache principalCache,
+            UsuarioMapper mapper)
     {
-        super(repository, UsuarioDTO.class, Usuario.class);
+        super(repository, mapper, Usuario.class);
         this.usuarioRepository = usuarioRepository;
         this.authRepository = authRepository;
+        this.principalCache = principalCache;
     }
 
     public EntityModel<UsuarioDTO> createUserProfile(UsuarioDTO dto) {
@@ -44,7 +50,10 @@ public class UsuarioService extends GenericService<Usuario, UsuarioDTO, Long> {
         Usuario entity = convertToEntity(dto);
         entity.setAuthUser(authUser);
 
-        UsuarioDTO savedDto = convertToDto(usuarioRepository.save(entity));
+        Usuario saved = usuarioRepository.save(entity);
+        UsuarioDTO savedDto = convertToDto(saved);
+        principalCache.invalidate(authUser.getId());
+        ownershipIndex.usuarioSaved(saved.getId(), authUser.getId());
         StackTraceElement currentMethod = Thread.currentThread().getStackTrace()[1];
         String logMsg = "Perfil de usuário criado. ID " + savedDto.getId();
         log.info("{} > {} > {}", currentMethod.getClassName(), currentMethod.getMethodName(), logMsg);
@@ -52,7 +61,7 @@ public class UsuarioService extends GenericService<Usuario, UsuarioDTO, Long> {
         return EntityModel.of(savedDto, generateLinks(savedDto));
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public ResponseEntity<EntityModel<UsuarioDTO>> findByAuthUserId(Long authUserId) {
         try {
             var entity = usuarioRepository.findByAuthUser_Id(authUserId)
@@ -71,18 +80,20 @@ public class UsuarioService extends GenericService<Usuario, UsuarioDTO, Long> {
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado."));
         authRepository.deleteById(usuario.getAuthUser().getId());
         usuarioRepository.delete(usuario);
+        principalCache.invalidate(usuario.getAuthUser().getId());
+        ownershipIndex.usuarioDeleted(usuario.getId(), usuario.getAuthUser().getId());
     }
 
     @Override
     protected Link[] generateLinks(UsuarioDTO dto) {
-        return new Link[] {
+        return linkTemplates.expand(UsuarioController.class, dto.getId(), id -> new Link[] {
                 WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(UsuarioController.class)
-                        .findById(dto.getId())).withSelfRel(),
+                        .findById(id)).withSelfRel(),
                 WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(UsuarioController.class)
                         .findAll(Pageable.unpaged())).withRel("usuarios"),
                 WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(UsuarioController.class)
-                        .delete(dto.getId())).withRel("delete")
-        };
+                        .delete(id)).withRel("delete")
+        });
     }
 
     @Override
@@ -0,0 +1,40 @@
+package com.fiec.voz_cidada.util;
+
+/**
+ * ETags calculados a partir da coluna version, sem serializar a resposta.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String strong(long version) {
+        return "\"" + version + "\"";
+    }
+
+    public static String weak(long hash) {
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * Comparação fraca do If-None-Match (RFC 9110): o prefixo W/ é ignorado nos dois lados.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String target = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || opaque(value).equals(target)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.fiec.voz_cidada.util;
+
+/**
+ * Cache long -> long limitado, sobre duas gerações de LongLongHashMap (atual e anterior).
+ * Inserções vão para a atual e consultas olham as duas. Quando a atual chega a maxEntries / 2 ou
+ * completa period, ela vira a anterior e a anterior é descartada. Assim o cache nunca passa de
+ * maxEntries entradas, e cada entrada vive no máximo 2 * period.
+ * Thread-safe: as operações são curtas e sincronizadas na instância.
+ */
+public class GenerationalLongLongMap {
+
+    private final int generationSize;
+    private final long periodNanos;
+    private LongLongHashMap current;
+    private LongLongHashMap previous;
+    private long generationStart = System.nanoTime();
+    // Incrementado a cada escrita; permite descartar um valor carregado do banco que ficou velho no caminho
+    private long modifications;
+
+    public GenerationalLongLongMap(int maxEntries, long periodNanos) {
+        this.generationSize = Math.max(1, maxEntries / 2);
+        this.periodNanos = periodNanos;
+        this.current = new LongLongHashMap(generationSize);
+        this.previous = new LongLongHashMap(generationSize);
+    }
+
+    public synchronized long get(long key, long missingValue) {
+        rotateIfExpired();
+        long value = current.get(key, missingValue);
+        return value != missingValue ? value : previous.get(key, missingValue);
+    }
+
+    public synchronized void put(long key, long value) {
+        modifications++;
+        previous.remove(key, 0);
+        store(key, value);
+    }
+
+    public synchronized void remove(long key) {
+        modifications++;
+        current.remove(key, 0);
+        previous.remove(key, 0);
+    }
+
+    /**
+     * Marca para putIfUnchanged: pegue antes de ler o valor na fonte.
+     */
+    public synchronized long stamp() {
+        return modifications;
+    }
+
+    /**
+     * Guarda o valor só se nenhum put/remove aconteceu desde stamp, para que uma leitura do banco
+     * concorrente com uma alteração não sobrescreva o valor novo.
+     */
+    public synchronized void putIfUnchanged(long key, long value, long stamp) {
+        if (modifications == stamp) {
+            store(key, value);
+        }
+    }
+
+    public synchronized int size() {
+        return current.size() + previous.size();
+    }
+
+    private void store(long key, long value) {
+        rotateIfExpired();
+        if (current.size() >= generationSize && !current.containsKey(key)) {
+            rotate();
+        }
+        current.put(key, value, 0);
+    }
+
+    private void rotateIfExpired() {
+        long elapsed = System.nanoTime() - generationStart;
+        if (elapsed >= periodNanos) {
+            rotate();
+            // Parado por mais de dois períodos: a geração que virou anterior também já venceu
+            if (elapsed >= 2 * periodNanos) {
+                previous = new LongLongHashMap(generationSize);
+            }
+        }
+    }
+
+    private void rotate() {
+        previous = current;
+        current = new LongLongHashMap(generationSize);
+        generationStart = System.nanoTime();
+    }
+
+}
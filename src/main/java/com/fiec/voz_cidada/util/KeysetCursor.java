@@ -0,0 +1,33 @@
+package com.fiec.voz_cidada.util;
+
+import com.fiec.voz_cidada.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Posição da paginação por cursor (keyset): o último (data, id) entregue, na ordem da listagem.
+ * A data é a coluna de ordenação da consulta (dataAbertura dos chamados, dataModificacao do histórico).
+ * Para o cliente o cursor é opaco (Base64 URL-safe).
+ */
+public record KeysetCursor(LocalDateTime timestamp, Long id) {
+
+    public String encode() {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new KeysetCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Cursor inválido.");
+        }
+    }
+
+}
@@ -0,0 +1,160 @@
+package com.fiec.voz_cidada.util;
+
+import java.util.Arrays;
+
+/**
+ * Mapa long -> long com endereçamento aberto (sondagem linear) sobre dois arrays primitivos.
+ * Sem boxing: cada entrada ocupa 16 bytes, contra ~64 de um HashMap<Long, Long>.
+ * Não é thread-safe; quem usa é responsável pela sincronização.
+ */
+public class LongLongHashMap {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private long[] values;
+    private int size;
+    private int resizeAt;
+
+    public LongLongHashMap() {
+        this(16);
+    }
+
+    public LongLongHashMap(int expectedSize) {
+        allocate(Math.max(16, Integer.highestOneBit(Math.max(1, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1));
+    }
+
+    /**
+     * @return o valor anterior, ou missingValue se a chave não existia.
+     */
+    public long put(long key, long value, long missingValue) {
+        checkKey(key);
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                long previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & (keys.length - 1);
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size >= resizeAt) {
+            rehash(keys.length << 1);
+        }
+        return missingValue;
+    }
+
+    public long get(long key, long missingValue) {
+        checkKey(key);
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & (keys.length - 1);
+        }
+        return missingValue;
+    }
+
+    public boolean containsKey(long key) {
+        checkKey(key);
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return true;
+            }
+            slot = (slot + 1) & (keys.length - 1);
+        }
+        return false;
+    }
+
+    /**
+     * @return o valor removido, ou missingValue se a chave não existia.
+     */
+    public long remove(long key, long missingValue) {
+        checkKey(key);
+        int mask = keys.length - 1;
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                long previous = values[slot];
+                shiftBack(slot);
+                size--;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return missingValue;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    // Remoção sem lápides: puxa para trás as entradas seguintes que sondaram por cima do slot liberado
+    private void shiftBack(int free) {
+        int mask = keys.length - 1;
+        int current = free;
+        while (true) {
+            current = (current + 1) & mask;
+            long key = keys[current];
+            if (key == EMPTY) {
+                break;
+            }
+            int home = slot(key);
+            boolean movable = free <= current
+                    ? home <= free || home > current
+                    : home <= free && home > current;
+            if (movable) {
+                keys[free] = key;
+                values[free] = values[current];
+                free = current;
+            }
+        }
+        keys[free] = EMPTY;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != EMPTY) {
+                int slot = slot(key);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & (keys.length - 1);
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & (keys.length - 1);
+    }
+
+    private static void checkKey(long key) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Chave reservada: " + key);
+        }
+    }
+
+}
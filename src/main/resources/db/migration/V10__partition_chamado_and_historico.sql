@@ -0,0 +1,130 @@
+-- chamado e historico_chamado só crescem: passam a ser particionadas por ano de data_abertura / data_modificacao,
+-- e consultas com filtro de data só leem as partições do período. Partições anuais (e não mensais) porque as
+-- buscas por ID, sem a data, consultam o índice de cada partição.
+-- O PostgreSQL exige a chave de partição em toda PK de tabela particionada, então chamado(id) deixa de poder ser
+-- alvo de FK: saem as FKs de historico_chamado e avaliacao para chamado. As exclusões de chamado já levam o
+-- histórico e a avaliação junto (orphanRemoval / cascade no Hibernate, e o arquivamento).
+
+-- Cria, se ainda não existir, a partição do ano em uma tabela particionada por data. Linhas desse ano que estejam
+-- na partição default são movidas para a nova antes de anexá-la. Chamada também por ChamadoPartitionMaintenance.
+CREATE FUNCTION create_yearly_partition(parent TEXT, key_column TEXT, partition_year INT) RETURNS BOOLEAN AS $$
+DECLARE
+    partition_name TEXT := parent || '_' || partition_year;
+    range_start TIMESTAMP := make_timestamp(partition_year, 1, 1, 0, 0, 0);
+    range_end TIMESTAMP := make_timestamp(partition_year + 1, 1, 1, 0, 0, 0);
+BEGIN
+    -- Várias instâncias podem rodar a manutenção ao mesmo tempo
+    PERFORM pg_advisory_xact_lock(hashtext(partition_name));
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+    EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name, parent);
+    EXECUTE format('WITH movidas AS (DELETE FROM %I WHERE %I >= %L AND %I < %L RETURNING *) INSERT INTO %I SELECT * FROM movidas',
+                   parent || '_default', key_column, range_start, key_column, range_end, partition_name);
+    EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   parent, partition_name, range_start, range_end);
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+ALTER TABLE historico_chamado DROP CONSTRAINT fk_historico_chamado;
+ALTER TABLE avaliacao DROP CONSTRAINT fk_avaliacao_chamado;
+
+-- chamado
+
+-- data_abertura entra na PK; as poucas linhas sem data recebem a do primeiro registro do histórico
+UPDATE chamado c
+SET data_abertura = COALESCE((SELECT MIN(h.data_modificacao) FROM historico_chamado h WHERE h.chamado_id = c.id), now())
+WHERE c.data_abertura IS NULL;
+
+ALTER TABLE chamado RENAME TO chamado_legacy;
+ALTER TABLE chamado_legacy DROP CONSTRAINT chamado_pkey;
+DROP INDEX idx_chamado_abertura_id, idx_chamado_usuario_abertura_id, idx_chamado_secretaria_abertura_id, idx_chamado_auth_user;
+ALTER SEQUENCE chamado_id_seq OWNED BY NONE;
+
+CREATE TABLE chamado (
+    LIKE chamado_legacy INCLUDING DEFAULTS,
+    PRIMARY KEY (id, data_abertura),
+    CONSTRAINT fk_chamado_usuario FOREIGN KEY (usuario_id) REFERENCES usuario (id)
+) PARTITION BY RANGE (data_abertura);
+
+ALTER SEQUENCE chamado_id_seq OWNED BY chamado.id;
+
+-- Datas fora das partições anuais (ex.: chamados importados com data antiga)
+CREATE TABLE chamado_default PARTITION OF chamado DEFAULT;
+
+DO $$
+DECLARE
+    partition_year INT;
+BEGIN
+    FOR partition_year IN
+        SELECT DISTINCT EXTRACT(YEAR FROM data_abertura)::INT FROM chamado_legacy
+        UNION SELECT EXTRACT(YEAR FROM now())::INT
+        UNION SELECT EXTRACT(YEAR FROM now())::INT + 1
+    LOOP
+        PERFORM create_yearly_partition('chamado', 'data_abertura', partition_year);
+    END LOOP;
+END $$;
+
+INSERT INTO chamado SELECT * FROM chamado_legacy;
+DROP TABLE chamado_legacy;
+
+CREATE INDEX idx_chamado_abertura_id ON chamado (data_abertura DESC, id DESC);
+
+CREATE INDEX idx_chamado_usuario_abertura_id ON chamado (usuario_id, data_abertura DESC, id DESC);
+
+CREATE INDEX idx_chamado_secretaria_abertura_id ON chamado (secretaria, data_abertura DESC, id DESC);
+
+CREATE INDEX idx_chamado_auth_user ON chamado (auth_user_id);
+
+-- historico_chamado
+
+ALTER TABLE historico_chamado RENAME TO historico_chamado_legacy;
+ALTER TABLE historico_chamado_legacy DROP CONSTRAINT historico_chamado_pkey;
+DROP INDEX idx_historico_chamado_funcionario, idx_historico_chamado_timeline;
+ALTER SEQUENCE historico_chamado_id_seq OWNED BY NONE;
+
+CREATE TABLE historico_chamado (
+    LIKE historico_chamado_legacy INCLUDING DEFAULTS,
+    PRIMARY KEY (id, data_modificacao),
+    CONSTRAINT fk_historico_funcionario FOREIGN KEY (funcionario_id) REFERENCES funcionario_prefeitura (id)
+) PARTITION BY RANGE (data_modificacao);
+
+ALTER SEQUENCE historico_chamado_id_seq OWNED BY historico_chamado.id;
+
+CREATE TABLE historico_chamado_default PARTITION OF historico_chamado DEFAULT;
+
+DO $$
+DECLARE
+    partition_year INT;
+BEGIN
+    FOR partition_year IN
+        SELECT DISTINCT EXTRACT(YEAR FROM data_modificacao)::INT FROM historico_chamado_legacy
+        UNION SELECT EXTRACT(YEAR FROM now())::INT
+        UNION SELECT EXTRACT(YEAR FROM now())::INT + 1
+    LOOP
+        PERFORM create_yearly_partition('historico_chamado', 'data_modificacao', partition_year);
+    END LOOP;
+END $$;
+
+INSERT INTO historico_chamado SELECT * FROM historico_chamado_legacy;
+DROP TABLE historico_chamado_legacy;
+
+CREATE INDEX idx_historico_chamado_funcionario ON historico_chamado (funcionario_id);
+
+CREATE INDEX idx_historico_chamado_timeline ON historico_chamado (chamado_id, data_modificacao, id);
+
+-- Arquivo frio: chamados concluídos antigos saem das tabelas particionadas (ChamadoArchiveService) e ficam aqui,
+-- um registro por chamado, com o ChamadoDTO completo (histórico e avaliação) em JSON comprimido com gzip
+CREATE TABLE chamado_arquivo (
+    id INT PRIMARY KEY,
+    data_abertura TIMESTAMP NOT NULL,
+    arquivado_em TIMESTAMP NOT NULL,
+    conteudo BYTEA NOT NULL
+);
+
+-- O conteúdo já vem comprimido; sem isso o TOAST tentaria comprimir de novo
+ALTER TABLE chamado_arquivo ALTER COLUMN conteudo SET STORAGE EXTERNAL;
+
+ANALYZE chamado;
+ANALYZE historico_chamado;
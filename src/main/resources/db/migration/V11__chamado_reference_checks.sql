@@ -0,0 +1,6 @@
+-- Desde a V10 historico_chamado.chamado_id e avaliacao.chamado_id não têm FK para chamado (a PK particionada inclui
+-- data_abertura). O NOT NULL já vinha da V3; fica explícito aqui, e chamados inexistentes nessas colunas são
+-- procurados periodicamente por ChamadoPartitionMaintenance, o que cobre também a importação em lote e os
+-- comandos nativos que não passam pelas checagens dos serviços.
+ALTER TABLE historico_chamado ALTER COLUMN chamado_id SET NOT NULL;
+ALTER TABLE avaliacao ALTER COLUMN chamado_id SET NOT NULL;
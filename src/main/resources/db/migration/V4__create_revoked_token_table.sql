@@ -0,0 +1,8 @@
+CREATE TABLE revoked_token (
+    jti VARCHAR(36) PRIMARY KEY,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_revoked_token_expires_at ON revoked_token (expires_at);
+
+ALTER TABLE auth_user ADD COLUMN tokens_valid_after TIMESTAMP;
@@ -0,0 +1,5 @@
+CREATE INDEX idx_chamado_abertura_id ON chamado (data_abertura DESC, id DESC);
+
+CREATE INDEX idx_chamado_usuario_abertura_id ON chamado (usuario_id, data_abertura DESC, id DESC);
+
+CREATE INDEX idx_chamado_secretaria_abertura_id ON chamado (secretaria, data_abertura DESC, id DESC);
@@ -0,0 +1,2 @@
+-- Chamado passa a usar @SequenceGenerator com allocationSize 50 (IDs reservados em blocos, inserts em lote)
+ALTER SEQUENCE chamado_id_seq INCREMENT BY 50;
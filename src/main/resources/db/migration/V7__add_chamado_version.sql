@@ -0,0 +1,2 @@
+-- Versão otimista do chamado (@Version); também é a base dos ETags de GET /api/chamado
+ALTER TABLE chamado ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,14 @@
+-- Colunas de FK usadas em filtros e joins sem índice (apontadas por EndpointQueryPlanTest)
+CREATE INDEX idx_historico_chamado_chamado ON historico_chamado (chamado_id);
+
+CREATE INDEX idx_historico_chamado_funcionario ON historico_chamado (funcionario_id);
+
+CREATE INDEX idx_avaliacao_chamado ON avaliacao (chamado_id);
+
+CREATE INDEX idx_avaliacao_usuario ON avaliacao (usuario_id);
+
+CREATE INDEX idx_chamado_auth_user ON chamado (auth_user_id);
+
+CREATE INDEX idx_usuario_auth_user ON usuario (auth_user_id);
+
+CREATE INDEX idx_funcionario_prefeitura_auth_user ON funcionario_prefeitura (auth_user_id);
@@ -0,0 +1,5 @@
+-- Linha do tempo de um chamado (GET /api/chamado/{id}/historico): keyset em (data_modificacao, id)
+CREATE INDEX idx_historico_chamado_timeline ON historico_chamado (chamado_id, data_modificacao, id);
+
+-- Coberto pelo índice acima (chamado_id é a primeira coluna)
+DROP INDEX idx_historico_chamado_chamado;
@@ -0,0 +1,98 @@
+package com.fiec.voz_cidada.benchmark;
+
+import com.fiec.voz_cidada.config.LinkTemplateCache;
+import com.fiec.voz_cidada.controller.ChamadoController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo dos links de uma página de chamados: linkTo(methodOn(...)) por item contra o LinkTemplateCache.
+ * Cada invocação simula uma requisição nova (atributos de request vazios), como em produção.
+ * Executar com: mvn test-compile exec:java -Dexec.mainClass=com.fiec.voz_cidada.benchmark.LinkTemplateBenchmark -Dexec.classpathScope=test
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkTemplateBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private LinkTemplateCache cache;
+
+    @Setup
+    public void setUp() {
+        cache = new LinkTemplateCache();
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public void methodOnPerItem(Blackhole blackhole) {
+        newRequest();
+        for (long id = 1; id <= pageSize; id++) {
+            blackhole.consume(resolve(id));
+        }
+    }
+
+    @Benchmark
+    public void cachedTemplates(Blackhole blackhole) {
+        newRequest();
+        for (long id = 1; id <= pageSize; id++) {
+            blackhole.consume(cache.expand(ChamadoController.class, id, LinkTemplateBenchmark::resolve));
+        }
+    }
+
+    private static void newRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/chamado");
+        request.setServerName("api.vozcidada.com.br");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    // Mesmos links de ChamadoService.generateLinks
+    private static Link[] resolve(Long id) {
+        return new Link[] {
+                WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(ChamadoController.class)
+                        .findById(id, null)).withSelfRel(),
+                WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(ChamadoController.class)
+                        .findAll(Pageable.unpaged(), null)).withRel("chamados"),
+                WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(ChamadoController.class)
+                        .delete(id)).withRel("delete")
+        };
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LinkTemplateBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
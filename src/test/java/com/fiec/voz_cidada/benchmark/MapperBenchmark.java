@@ -0,0 +1,145 @@
+package com.fiec.voz_cidada.benchmark;
+
+import com.fiec.voz_cidada.domain.auth_user.AuthStatus;
+import com.fiec.voz_cidada.domain.auth_user.AuthUser;
+import com.fiec.voz_cidada.domain.auth_user.UserRole;
+import com.fiec.voz_cidada.domain.avaliacao.Avaliacao;
+import com.fiec.voz_cidada.domain.chamado.Chamado;
+import com.fiec.voz_cidada.domain.chamado.ChamadoDTO;
+import com.fiec.voz_cidada.domain.chamado.Secretaria;
+import com.fiec.voz_cidada.domain.historico.HistoricoChamado;
+import com.fiec.voz_cidada.domain.usuario.Usuario;
+import com.fiec.voz_cidada.domain.usuario.UsuarioDTO;
+import com.fiec.voz_cidada.mapper.AvaliacaoMapper;
+import com.fiec.voz_cidada.mapper.ChamadoMapper;
+import com.fiec.voz_cidada.mapper.HistoricoMapper;
+import com.fiec.voz_cidada.mapper.UsuarioMapper;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o ModelMapper (caminho antigo de GenericService.convertToDto) com os mappers escritos à mão.
+ * Executar com: mvn test-compile exec:java -Dexec.mainClass=com.fiec.voz_cidada.benchmark.MapperBenchmark -Dexec.classpathScope=test
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private ModelMapper modelMapper;
+    private ChamadoMapper chamadoMapper;
+    private UsuarioMapper usuarioMapper;
+    private Chamado chamado;
+    private Usuario usuario;
+    private ChamadoDTO chamadoDto;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        chamadoMapper = new ChamadoMapper(new AvaliacaoMapper(), new HistoricoMapper());
+        usuarioMapper = new UsuarioMapper();
+
+        AuthUser authUser = new AuthUser(1L, UserRole.USER, AuthStatus.SIGNIN, null, null);
+        usuario = new Usuario();
+        usuario.setId(10L);
+        usuario.setAuthUser(authUser);
+        usuario.setNome("Cidadão");
+        usuario.setCpf("00000000000");
+        usuario.setDataNascimento(LocalDate.of(1990, 1, 1));
+        usuario.setDataCadastro(LocalDateTime.now());
+        usuario.setCidade("São Paulo");
+        usuario.setUf("SP");
+
+        chamado = new Chamado();
+        chamado.setId(100L);
+        chamado.setUsuario(usuario);
+        chamado.setAuthUser(authUser);
+        chamado.setTitulo("Buraco na rua");
+        chamado.setDescricao("Buraco grande em frente ao número 123");
+        chamado.setDataAbertura(LocalDateTime.now());
+        chamado.setStatus("CONCLUÍDO");
+        chamado.setSecretaria(Secretaria.OBRAS);
+        chamado.setLatitude(new BigDecimal("-23.550520"));
+        chamado.setLongitude(new BigDecimal("-46.633308"));
+
+        List<HistoricoChamado> historicos = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            HistoricoChamado historico = new HistoricoChamado();
+            historico.setId((long) i);
+            historico.setChamado(chamado);
+            historico.setDataModificacao(LocalDateTime.now());
+            historico.setStatusAnterior("PENDENTE");
+            historico.setStatusNovo("EM ANDAMENTO");
+            historicos.add(historico);
+        }
+        chamado.setHistoricos(historicos);
+
+        Avaliacao avaliacao = new Avaliacao();
+        avaliacao.setId(1000L);
+        avaliacao.setChamado(chamado);
+        avaliacao.setUsuario(usuario);
+        avaliacao.setEstrelas(5);
+        chamado.setAvaliacao(avaliacao);
+
+        chamadoDto = chamadoMapper.toDto(chamado);
+    }
+
+    @Benchmark
+    public ChamadoDTO chamadoToDtoModelMapper() {
+        return modelMapper.map(chamado, ChamadoDTO.class);
+    }
+
+    @Benchmark
+    public ChamadoDTO chamadoToDtoHandWritten() {
+        return chamadoMapper.toDto(chamado);
+    }
+
+    @Benchmark
+    public Chamado chamadoToEntityModelMapper() {
+        return modelMapper.map(chamadoDto, Chamado.class);
+    }
+
+    @Benchmark
+    public Chamado chamadoToEntityHandWritten() {
+        return chamadoMapper.toEntity(chamadoDto);
+    }
+
+    @Benchmark
+    public UsuarioDTO usuarioToDtoModelMapper() {
+        return modelMapper.map(usuario, UsuarioDTO.class);
+    }
+
+    @Benchmark
+    public UsuarioDTO usuarioToDtoHandWritten() {
+        return usuarioMapper.toDto(usuario);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MapperBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.fiec.voz_cidada.benchmark;
+
+import com.fiec.voz_cidada.geo.SpatialGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca por raio no SpatialGrid com um milhão de pontos espalhados pela área de São Paulo (~40 x 40 km).
+ * Executar com: mvn test-compile exec:java -Dexec.mainClass=com.fiec.voz_cidada.benchmark.SpatialGridBenchmark -Dexec.classpathScope=test
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class SpatialGridBenchmark {
+
+    private static final int POINTS = 1_000_000;
+    private static final double MIN_LAT = -23.75;
+    private static final double MIN_LON = -46.83;
+    private static final double SPAN = 0.36;
+
+    @Param({"250", "1000"})
+    private double cellSizeMeters;
+
+    @Param({"500", "2000"})
+    private double radiusMeters;
+
+    private SpatialGrid grid;
+    private double[] queryLats;
+    private double[] queryLons;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        grid = new SpatialGrid(cellSizeMeters, POINTS);
+        for (long id = 1; id <= POINTS; id++) {
+            grid.put(id,
+                    MIN_LAT + random.nextDouble() * SPAN,
+                    MIN_LON + random.nextDouble() * SPAN,
+                    random.nextInt(4),
+                    random.nextInt(2));
+        }
+        queryLats = new double[1024];
+        queryLons = new double[1024];
+        for (int i = 0; i < queryLats.length; i++) {
+            queryLats[i] = MIN_LAT + random.nextDouble() * SPAN;
+            queryLons[i] = MIN_LON + random.nextDouble() * SPAN;
+        }
+    }
+
+    @Benchmark
+    public List<SpatialGrid.Hit> nearAnyStatus() {
+        int i = next++ & (queryLats.length - 1);
+        return grid.near(queryLats[i], queryLons[i], radiusMeters, SpatialGrid.ANY, SpatialGrid.ANY, 50);
+    }
+
+    @Benchmark
+    public List<SpatialGrid.Hit> nearFilteredByStatus() {
+        int i = next++ & (queryLats.length - 1);
+        return grid.near(queryLats[i], queryLons[i], radiusMeters, 0, SpatialGrid.ANY, 50);
+    }
+
+    @Benchmark
+    public void moveOnePoint() {
+        int i = next++ & (queryLats.length - 1);
+        grid.put(1 + (i * 977L) % POINTS, queryLats[i], queryLons[i], 1, 0);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SpatialGridBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.fiec.voz_cidada.config.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RotatingBloomFilterTest {
+
+    private static final int ENTRIES = 10_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Test
+    void addedValuesAreAlwaysFound() {
+        RotatingBloomFilter filter = new RotatingBloomFilter(ENTRIES, FALSE_POSITIVE_RATE);
+        List<String> jtis = randomJtis(ENTRIES);
+        jtis.forEach(filter::add);
+        for (String jti : jtis) {
+            assertTrue(filter.mightContain(jti), jti);
+        }
+    }
+
+    @Test
+    void valuesSurviveOneRotation() {
+        RotatingBloomFilter filter = new RotatingBloomFilter(ENTRIES, FALSE_POSITIVE_RATE);
+        List<String> before = randomJtis(ENTRIES / 2);
+        before.forEach(filter::add);
+
+        filter.rotate();
+        List<String> after = randomJtis(ENTRIES / 2);
+        after.forEach(filter::add);
+
+        // Sem falso negativo dos dois lados da rotação: a geração anterior ainda é consultada
+        for (String jti : before) {
+            assertTrue(filter.mightContain(jti), jti);
+        }
+        for (String jti : after) {
+            assertTrue(filter.mightContain(jti), jti);
+        }
+    }
+
+    @Test
+    void valuesAreDroppedAfterTwoRotations() {
+        RotatingBloomFilter filter = new RotatingBloomFilter(ENTRIES, FALSE_POSITIVE_RATE);
+        List<String> expired = randomJtis(ENTRIES);
+        expired.forEach(filter::add);
+        filter.rotate();
+        List<String> recent = randomJtis(ENTRIES);
+        recent.forEach(filter::add);
+        filter.rotate();
+
+        for (String jti : recent) {
+            assertTrue(filter.mightContain(jti), jti);
+        }
+        // Só sobram os falsos positivos da geração que ficou
+        assertTrue(countFound(filter, expired) < ENTRIES * FALSE_POSITIVE_RATE * 3);
+    }
+
+    @Test
+    void falsePositiveRateStaysNearConfiguredValue() {
+        RotatingBloomFilter filter = new RotatingBloomFilter(ENTRIES, FALSE_POSITIVE_RATE);
+        randomJtis(ENTRIES).forEach(filter::add);
+        // Consulta as duas gerações: com a anterior vazia a taxa é a de uma geração cheia
+        assertTrue(countFound(filter, randomJtis(ENTRIES)) < ENTRIES * FALSE_POSITIVE_RATE * 3);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        RotatingBloomFilter filter = new RotatingBloomFilter(ENTRIES, FALSE_POSITIVE_RATE);
+        for (String jti : randomJtis(100)) {
+            assertFalse(filter.mightContain(jti), jti);
+        }
+    }
+
+    private static int countFound(RotatingBloomFilter filter, List<String> jtis) {
+        int found = 0;
+        for (String jti : jtis) {
+            if (filter.mightContain(jti)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private static List<String> randomJtis(int count) {
+        List<String> jtis = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            jtis.add(UUID.randomUUID().toString());
+        }
+        return jtis;
+    }
+
+}
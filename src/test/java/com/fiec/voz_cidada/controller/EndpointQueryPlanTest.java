@@ -0,0 +1,341 @@
+package com.fiec.voz_cidada.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiec.voz_cidada.domain.auth_user.AuthStatus;
+import com.fiec.voz_cidada.domain.auth_user.AuthUser;
+import com.fiec.voz_cidada.domain.auth_user.UserRole;
+import com.fiec.voz_cidada.domain.chamado.Secretaria;
+import com.fiec.voz_cidada.domain.funcionario.Funcionario;
+import com.fiec.voz_cidada.service.AvaliacaoStatsAggregator;
+import com.fiec.voz_cidada.service.ChamadoHeatmap;
+import com.fiec.voz_cidada.service.ChamadoSearchIndex;
+import com.fiec.voz_cidada.service.ChamadoSpatialIndex;
+import com.fiec.voz_cidada.service.ChamadoStatusCounters;
+import com.google.firebase.FirebaseApp;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Roda cada endpoint da API contra um Postgres real (Testcontainers, com as migrations do Flyway) populado com
+ * volume suficiente para o planejador preferir índices. Para cada endpoint verifica:
+ * - quantos comandos SQL o Hibernate preparou (limite por endpoint, pega N+1);
+ * - o plano genérico (EXPLAIN GENERIC_PLAN) de cada SELECT, UPDATE e DELETE: Seq Scan com filtro seletivo em
+ *   tabela grande indica índice faltando.
+ * As escritas usam chamados que nenhuma leitura consulta, para a ordem dos testes não importar.
+ * Sem Docker o teste é ignorado.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.fiec.voz_cidada.controller.SqlCapture",
+        "aws.s3.access-key=test",
+        "aws.s3.secret-key=test"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointQueryPlanTest {
+
+    private static final int USUARIOS = 2_000;
+    private static final int CHAMADOS = 50_000;
+    private static final List<String> LARGE_TABLES = List.of("chamado", "historico_chamado", "avaliacao", "usuario");
+    // Um Seq Scan que devolve menos que essa fração da tabela deveria ser um acesso por índice
+    private static final double SELECTIVE_FRACTION = 0.05;
+    // O INSERT do import e o CTE da transição não têm o que planejar com parâmetros genéricos
+    private static final List<String> PLANNED_COMMANDS = List.of("select", "update", "delete");
+    private static final int IMPORTED_ROWS = 10;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @MockitoBean
+    private FirebaseApp firebaseApp;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @Autowired
+    private ChamadoStatusCounters statusCounters;
+
+    @Autowired
+    private ChamadoSpatialIndex spatialIndex;
+
+    @Autowired
+    private ChamadoSearchIndex searchIndex;
+
+    @Autowired
+    private ChamadoHeatmap heatmap;
+
+    @Autowired
+    private AvaliacaoStatsAggregator statsAggregator;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Double> tableRows = new HashMap<>();
+    // Relação (tabela ou partição) -> tabela de LARGE_TABLES
+    private final Map<String, String> relationTables = new HashMap<>();
+    private UsernamePasswordAuthenticationToken owner;
+    private long chamadoId;
+    private long historicoId;
+    private long avaliacaoId;
+    private long usuarioId;
+    private long usuarioAuthId;
+    private long ownerAuthId;
+    private long updatedChamadoId;
+    private long deletedChamadoId;
+    private List<Long> transitionIds;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO auth_user (login, password, role, auth_status) " +
+                "SELECT 'cidadao' || g || '@teste.com', 'x', 'USER', 'SIGNIN' FROM generate_series(1, ?) g", USUARIOS);
+        jdbcTemplate.update("INSERT INTO usuario (auth_user_id, nome, data_nascimento, cpf, cep, data_cadastro) " +
+                "SELECT id, 'Cidadão ' || id, DATE '1990-01-01', '00000000000', '00000000', now() FROM auth_user");
+        ownerAuthId = jdbcTemplate.queryForObject("INSERT INTO auth_user (login, password, role, auth_status) " +
+                "VALUES ('dono@teste.com', 'x', 'OWNER', 'SIGNIN') RETURNING id", Long.class);
+        long funcionarioId = jdbcTemplate.queryForObject("INSERT INTO funcionario_prefeitura " +
+                "(auth_user_id, cpf, cargo, secretaria, data_cadastro) " +
+                "VALUES (?, '00000000000', 'Gestor', 'ALL', now()) RETURNING id", Long.class, ownerAuthId);
+        jdbcTemplate.update("INSERT INTO chamado (usuario_id, auth_user_id, titulo, descricao, data_abertura, status, " +
+                "secretaria, latitude, longitude) " +
+                "SELECT u.id, u.auth_user_id, 'Chamado ' || g, 'Descrição do chamado ' || g, " +
+                "now() - g * INTERVAL '1 minute', (ARRAY['PENDENTE', 'EM ANDAMENTO', 'CONCLUÍDO'])[1 + g % 3], " +
+                "(ARRAY['OBRAS', 'URBANISMO'])[1 + g % 2], -23.5 + (g % 1000) / 10000.0, -46.6 + (g % 997) / 10000.0 " +
+                "FROM generate_series(1, ?) g JOIN usuario u ON u.id = 1 + g % ?", CHAMADOS, USUARIOS);
+        jdbcTemplate.update("INSERT INTO historico_chamado (chamado_id, funcionario_id, data_modificacao, " +
+                "status_anterior, status_novo, observacao) " +
+                "SELECT id, ?, now(), 'PENDENTE', 'EM ANDAMENTO', 'Em análise' FROM chamado ORDER BY id LIMIT ?",
+                funcionarioId, CHAMADOS / 2);
+        jdbcTemplate.update("INSERT INTO avaliacao (chamado_id, usuario_id, estrelas, comentario, data_avaliacao) " +
+                "SELECT id, usuario_id, 1 + id % 5, 'Ok', now() FROM chamado ORDER BY id DESC LIMIT ?", CHAMADOS / 5);
+        jdbcTemplate.execute("ANALYZE");
+
+        chamadoId = jdbcTemplate.queryForObject("SELECT MIN(chamado_id) FROM historico_chamado", Long.class);
+        historicoId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM historico_chamado", Long.class);
+        avaliacaoId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM avaliacao", Long.class);
+        usuarioId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM usuario", Long.class);
+        usuarioAuthId = jdbcTemplate.queryForObject("SELECT auth_user_id FROM usuario WHERE id = ?", Long.class, usuarioId);
+        // Chamados do meio da faixa: sem histórico (primeira metade) nem avaliação (último quinto)
+        List<Long> writable = jdbcTemplate.queryForList("SELECT id FROM chamado WHERE status = 'PENDENTE' " +
+                "ORDER BY id OFFSET ? LIMIT 5", Long.class, CHAMADOS / 5);
+        updatedChamadoId = writable.get(0);
+        deletedChamadoId = writable.get(1);
+        // Três PENDENTE que mudam de status e um CONCLUÍDO que cai na consulta dos IDs ignorados
+        transitionIds = new ArrayList<>(writable.subList(2, 5));
+        transitionIds.add(jdbcTemplate.queryForObject("SELECT id FROM chamado WHERE status = 'CONCLUÍDO' " +
+                "ORDER BY id OFFSET ? LIMIT 1", Long.class, CHAMADOS / 5));
+        // chamado e historico_chamado são particionadas: o plano lê as partições, cada uma com suas estatísticas
+        jdbcTemplate.query("SELECT c.relname, COALESCE(p.relname, c.relname), c.reltuples FROM pg_class c " +
+                        "LEFT JOIN pg_inherits i ON i.inhrelid = c.oid LEFT JOIN pg_class p ON p.oid = i.inhparent " +
+                        "WHERE c.relkind = 'r'",
+                row -> {
+                    String table = row.getString(2);
+                    if (LARGE_TABLES.contains(table)) {
+                        relationTables.put(row.getString(1), table);
+                        tableRows.put(row.getString(1), row.getDouble(3));
+                    }
+                });
+
+        // O seed foi direto por JDBC, sem eventos: os agregados em memória são remontados a partir do banco
+        statusCounters.load();
+        spatialIndex.load();
+        searchIndex.load();
+        heatmap.load();
+        statsAggregator.load();
+
+        Funcionario funcionario = new Funcionario();
+        funcionario.setId(funcionarioId);
+        funcionario.setSecretaria(Secretaria.ALL);
+        AuthUser principal = new AuthUser(ownerAuthId, UserRole.OWNER, AuthStatus.SIGNIN, null, funcionario);
+        owner = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    Stream<Arguments> endpoints() {
+        return Stream.of(
+                Arguments.of("/api/chamado?page=0&size=10", 2),
+                Arguments.of("/api/chamado?page=0&size=10&sort=dataAbertura,desc", 2),
+                Arguments.of("/api/chamado/" + chamadoId, 7),
+                Arguments.of("/api/chamado/" + chamadoId + "/historico", 1),
+                Arguments.of("/api/chamado/user/" + usuarioId, 2),
+                Arguments.of("/api/chamado/secretaria/OBRAS", 2),
+                Arguments.of("/api/chamado/scroll", 1),
+                Arguments.of("/api/chamado/user/" + usuarioId + "/scroll", 1),
+                Arguments.of("/api/chamado/secretaria/OBRAS/scroll", 1),
+                // Servidos pelos agregados em memória: só os resumos dos IDs encontrados vão ao banco
+                Arguments.of("/api/chamado/count/OBRAS", 0),
+                Arguments.of("/api/chamado/count/ALL", 0),
+                Arguments.of("/api/chamado/near?lat=-23.45&lon=-46.55&radius=2000", 1),
+                Arguments.of("/api/chamado/search?q=chamado&secretaria=OBRAS", 1),
+                Arguments.of("/api/chamado/tiles/12/1517/2323", 0),
+                Arguments.of("/api/avaliacao/stats", 0),
+                Arguments.of("/api/avaliacao/stats?secretaria=OBRAS", 0),
+                Arguments.of("/api/chamado/export?secretaria=OBRAS", 1),
+                Arguments.of("/api/chamado/export?format=csv&status=PENDENTE", 1),
+                Arguments.of("/api/historico?page=0&size=10", 2),
+                Arguments.of("/api/historico/" + historicoId, 1),
+                Arguments.of("/api/avaliacao?page=0&size=10", 2),
+                Arguments.of("/api/avaliacao/" + avaliacaoId, 1),
+                Arguments.of("/api/usuario/" + usuarioId, 4),
+                Arguments.of("/api/usuario/auth/" + usuarioAuthId, 4),
+                Arguments.of("/api/funcionario/auth/" + ownerAuthId, 4)
+        );
+    }
+
+    Stream<Arguments> writes() throws Exception {
+        String ndjson = IntStream.rangeClosed(1, IMPORTED_ROWS)
+                .mapToObj(i -> "{\"usuarioId\":" + usuarioId + ",\"titulo\":\"Importado " + i + "\"," +
+                        "\"descricao\":\"Chamado importado " + i + "\",\"secretaria\":\"OBRAS\"," +
+                        "\"latitude\":-23.5,\"longitude\":-46.6}")
+                .collect(Collectors.joining("\n"));
+        return Stream.of(
+                // UPDATE com a transição e o histórico em um comando, mais a classificação do ID que não mudou
+                Arguments.of("POST /api/chamado/transition", post("/api/chamado/transition")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "ids", transitionIds,
+                                "statusAnterior", "PENDENTE",
+                                "statusNovo", "EM ANDAMENTO",
+                                "observacao", "Em análise"))), 2),
+                // Mesmo carregamento do detalhe, mais o UPDATE
+                Arguments.of("PUT /api/chamado", put("/api/chamado")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "id", updatedChamadoId,
+                                "titulo", "Chamado atualizado",
+                                "descricao", "Descrição atualizada",
+                                "status", "PENDENTE",
+                                "secretaria", "OBRAS"))), 8),
+                // Mesmo carregamento do detalhe, mais o DELETE
+                Arguments.of("DELETE /api/chamado/{id}", delete("/api/chamado/" + deletedChamadoId), 8),
+                // Usuários existentes, nextval da sequence e um INSERT em lote
+                Arguments.of("POST /api/chamado/import", post("/api/chamado/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson), 3)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("endpoints")
+    void endpointStaysWithinQueryBudgetAndUsesIndexes(String url, int maxStatements) throws Exception {
+        assertWithinBudgetAndIndexed(url, get(url), maxStatements);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("writes")
+    void writeStaysWithinQueryBudgetAndUsesIndexes(String name, MockHttpServletRequestBuilder request,
+                                                    int maxStatements) throws Exception {
+        assertWithinBudgetAndIndexed(name, request, maxStatements);
+    }
+
+    private void assertWithinBudgetAndIndexed(String name, MockHttpServletRequestBuilder request, int maxStatements)
+            throws Exception {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        SqlCapture.clear();
+
+        MvcResult result = mockMvc.perform(request.with(authentication(owner))).andReturn();
+        // O export responde com StreamingResponseBody: a consulta só roda no despacho assíncrono
+        if (result.getRequest().isAsyncStarted()) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        status().is2xxSuccessful().match(result);
+
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= maxStatements,
+                name + " executou " + statements + " comandos (limite " + maxStatements + "): " + SqlCapture.statements());
+
+        List<String> problems = new ArrayList<>();
+        for (String sql : SqlCapture.statements()) {
+            String command = sql.trim();
+            if (PLANNED_COMMANDS.stream().anyMatch(prefix -> command.regionMatches(true, 0, prefix, 0, prefix.length()))) {
+                problems.addAll(selectiveSeqScans(sql));
+            }
+        }
+        assertTrue(problems.isEmpty(), name + " faz Seq Scan seletivo: " + problems);
+    }
+
+    private List<String> selectiveSeqScans(String sql) throws Exception {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN (GENERIC_PLAN, FORMAT JSON) " + numberParameters(sql), String.class);
+        List<String> problems = new ArrayList<>();
+        collectSeqScans(objectMapper.readTree(plan).get(0).get("Plan"), sql, problems);
+        return problems;
+    }
+
+    private void collectSeqScans(JsonNode node, String sql, List<String> problems) {
+        String relation = node.path("Relation Name").asText();
+        if ("Seq Scan".equals(node.path("Node Type").asText())
+                && relationTables.containsKey(relation)
+                && node.has("Filter")) {
+            double fraction = node.path("Plan Rows").asDouble() / Math.max(1, tableRows.getOrDefault(relation, 1.0));
+            if (fraction < SELECTIVE_FRACTION) {
+                problems.add(relation + " [" + node.get("Filter").asText() + "] em: " + sql);
+            }
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSeqScans(child, sql, problems);
+        }
+    }
+
+    // O Hibernate usa ? e o EXPLAIN GENERIC_PLAN espera $1, $2...
+    private static String numberParameters(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        int index = 0;
+        boolean inLiteral = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                inLiteral = !inLiteral;
+            }
+            if (c == '?' && !inLiteral) {
+                numbered.append('$').append(++index);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+}
@@ -0,0 +1,164 @@
+package com.fiec.voz_cidada.repository;
+
+import com.fiec.voz_cidada.domain.auth_user.AuthStatus;
+import com.fiec.voz_cidada.domain.auth_user.AuthUser;
+import com.fiec.voz_cidada.domain.auth_user.UserRole;
+import com.fiec.voz_cidada.domain.chamado.Chamado;
+import com.fiec.voz_cidada.domain.chamado.ChamadoExportRow;
+import com.fiec.voz_cidada.domain.chamado.ChamadoSummary;
+import com.fiec.voz_cidada.domain.chamado.Secretaria;
+import com.fiec.voz_cidada.domain.usuario.Usuario;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ChamadoRepositoryTest {
+
+    private static final int CHAMADOS = 25;
+
+    @Autowired
+    private ChamadoRepository repository;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private Statistics statistics;
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        AuthUser authUser = em.persist(new AuthUser("cidadao@teste.com", "senha", UserRole.USER, AuthStatus.SIGNIN));
+        usuario = new Usuario();
+        usuario.setAuthUser(authUser);
+        usuario.setNome("Cidadão");
+        em.persist(usuario);
+
+        for (int i = 0; i < CHAMADOS; i++) {
+            Chamado chamado = new Chamado();
+            chamado.setUsuario(usuario);
+            chamado.setAuthUser(authUser);
+            chamado.setTitulo("Chamado " + i);
+            chamado.setDescricao("Descrição " + i);
+            chamado.setDataAbertura(LocalDateTime.now().minusMinutes(i));
+            chamado.setStatus("PENDENTE");
+            chamado.setSecretaria(i % 2 == 0 ? Secretaria.OBRAS : Secretaria.URBANISMO);
+            em.persist(chamado);
+        }
+        em.flush();
+        em.clear();
+
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAllRunsOneSelectAndOneCount() {
+        Page<ChamadoSummary> page = repository.findSummaries(PageRequest.of(0, 10, Sort.by("dataAbertura").descending()));
+
+        assertEquals(10, page.getNumberOfElements());
+        assertEquals(CHAMADOS, page.getTotalElements());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findByUserIdRunsOneSelectAndOneCount() {
+        Page<ChamadoSummary> page = repository.findSummariesByUsuario(usuario.getId(), PageRequest.of(0, 10));
+
+        assertEquals(10, page.getNumberOfElements());
+        assertEquals(usuario.getId(), page.getContent().get(0).usuarioId());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findBySecretariaRunsOneSelectAndOneCount() {
+        Page<ChamadoSummary> page = repository.findSummariesBySecretaria(Secretaria.OBRAS, PageRequest.of(0, 10));
+
+        assertEquals(10, page.getNumberOfElements());
+        assertTrue(page.getContent().stream().allMatch(c -> c.secretaria() == Secretaria.OBRAS));
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void scrollRunsASingleSelectWithoutCount() {
+        Slice<ChamadoSummary> first = repository.findFirstWindow(PageRequest.of(0, 10));
+        ChamadoSummary last = first.getContent().get(first.getNumberOfElements() - 1);
+        Slice<ChamadoSummary> second = repository.findWindowAfter(last.dataAbertura(), last.id(), PageRequest.of(0, 10));
+
+        assertTrue(first.hasNext());
+        assertTrue(second.getContent().get(0).dataAbertura().isBefore(last.dataAbertura()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void versionLookupDoesNotLoadTheEntity() {
+        Long id = repository.findSummaries(PageRequest.of(0, 1)).getContent().get(0).id();
+        statistics.clear();
+
+        assertEquals(0L, repository.findVersionById(id).orElseThrow());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void incrementVersionChangesTheVersion() {
+        Long id = repository.findSummaries(PageRequest.of(0, 1)).getContent().get(0).id();
+
+        repository.incrementVersion(id);
+
+        assertEquals(1L, repository.findVersionById(id).orElseThrow());
+    }
+
+    @Test
+    void exportStreamAppliesOnlyTheGivenFilters() {
+        try (Stream<ChamadoExportRow> all = repository.streamForExport(null, null, null, null)) {
+            assertEquals(CHAMADOS, all.count());
+        }
+        try (Stream<ChamadoExportRow> obras = repository.streamForExport(null, null, Secretaria.OBRAS, "PENDENTE")) {
+            List<ChamadoExportRow> rows = obras.toList();
+            assertEquals((CHAMADOS + 1) / 2, rows.size());
+            assertTrue(rows.stream().allMatch(row -> row.secretaria() == Secretaria.OBRAS && row.descricao() != null));
+        }
+        try (Stream<ChamadoExportRow> future = repository.streamForExport(LocalDateTime.now().plusDays(1), null, null, null)) {
+            assertEquals(0, future.count());
+        }
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void summaryDoesNotCarryDescricao() {
+        ChamadoSummary summary = repository.findSummaries(PageRequest.of(0, 1)).getContent().get(0);
+
+        assertNull(summary.toDto().getDescricao());
+        assertNull(summary.toDto().getHistoricos());
+    }
+
+}
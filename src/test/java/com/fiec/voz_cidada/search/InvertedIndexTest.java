@@ -0,0 +1,92 @@
+package com.fiec.voz_cidada.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvertedIndexTest {
+
+    private static final int ABERTO = 0;
+    private static final int CONCLUIDO = 1;
+    private static final int OBRAS = 0;
+    private static final int URBANISMO = 1;
+
+    @Test
+    void queryWithoutAccentsFindsAccentedText() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, "Iluminação pública", "Poste apagado na praça", ABERTO, OBRAS);
+
+        assertEquals(List.of(1L), ids(index.search("iluminacao", InvertedIndex.ANY, InvertedIndex.ANY, 10)));
+        assertEquals(List.of(1L), ids(index.search("POSTES apagados", InvertedIndex.ANY, InvertedIndex.ANY, 10)));
+        assertTrue(index.search("buraco", InvertedIndex.ANY, InvertedIndex.ANY, 10).isEmpty());
+    }
+
+    @Test
+    void reindexReplacesThePreviousVersion() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, "Buraco na rua", "", ABERTO, OBRAS);
+        index.put(1, "Poste apagado", "", ABERTO, OBRAS);
+
+        assertTrue(index.search("buraco", InvertedIndex.ANY, InvertedIndex.ANY, 10).isEmpty());
+        assertEquals(List.of(1L), ids(index.search("poste", InvertedIndex.ANY, InvertedIndex.ANY, 10)));
+        assertEquals(1, index.size());
+        assertEquals(0.5d, index.deletedRatio());
+    }
+
+    @Test
+    void deleteRemovesTheDocument() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, "Buraco na rua", "", ABERTO, OBRAS);
+        index.put(2, "Buraco na calçada", "", ABERTO, OBRAS);
+
+        assertTrue(index.delete(1));
+        assertFalse(index.delete(1));
+        assertEquals(List.of(2L), ids(index.search("buraco", InvertedIndex.ANY, InvertedIndex.ANY, 10)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void statusAndSecretariaFilters() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, "Buraco", "", ABERTO, OBRAS);
+        index.put(2, "Buraco", "", CONCLUIDO, OBRAS);
+        index.put(3, "Buraco", "", ABERTO, URBANISMO);
+
+        assertEquals(List.of(1L, 3L), sorted(index.search("buraco", ABERTO, InvertedIndex.ANY, 10)));
+        assertEquals(List.of(1L, 2L), sorted(index.search("buraco", InvertedIndex.ANY, OBRAS, 10)));
+        assertEquals(List.of(3L), ids(index.search("buraco", ABERTO, URBANISMO, 10)));
+        assertTrue(index.search("buraco", CONCLUIDO, URBANISMO, 10).isEmpty());
+    }
+
+    @Test
+    void topKReturnsTheBestScoresInDescendingOrder() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, "Reclamação", "buraco", ABERTO, OBRAS);
+        index.put(2, "Buraco", "buraco buraco", ABERTO, OBRAS);
+        index.put(3, "Reclamação", "calçada", ABERTO, OBRAS);
+        index.put(4, "Buraco", "", ABERTO, OBRAS);
+        index.put(5, "Poste", "apagado", ABERTO, OBRAS);
+
+        List<InvertedIndex.Hit> all = index.search("buraco", InvertedIndex.ANY, InvertedIndex.ANY, 10);
+        assertEquals(List.of(2L, 4L, 1L), ids(all));
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(all.get(i - 1).score() >= all.get(i).score());
+        }
+
+        assertEquals(List.of(2L, 4L), ids(index.search("buraco", InvertedIndex.ANY, InvertedIndex.ANY, 2)));
+        assertTrue(index.search("buraco", InvertedIndex.ANY, InvertedIndex.ANY, 0).isEmpty());
+    }
+
+    private static List<Long> ids(List<InvertedIndex.Hit> hits) {
+        return hits.stream().map(InvertedIndex.Hit::id).toList();
+    }
+
+    private static List<Long> sorted(List<InvertedIndex.Hit> hits) {
+        return hits.stream().map(InvertedIndex.Hit::id).sorted().toList();
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.fiec.voz_cidada.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PortugueseAnalyzerTest {
+
+    @Test
+    void accentsAndCaseAreFolded() {
+        assertEquals(PortugueseAnalyzer.analyze("iluminacao"), PortugueseAnalyzer.analyze("Iluminação"));
+        assertEquals(List.of("ilumin"), PortugueseAnalyzer.analyze("ILUMINAÇÃO"));
+    }
+
+    @Test
+    void pluralAndSuffixesShareTheStem() {
+        for (String word : List.of("iluminação", "iluminações", "iluminado", "iluminada", "ilumina")) {
+            assertEquals(List.of("ilumin"), PortugueseAnalyzer.analyze(word), word);
+        }
+        assertEquals(PortugueseAnalyzer.analyze("postes"), PortugueseAnalyzer.analyze("poste"));
+        assertEquals(PortugueseAnalyzer.analyze("buracos"), PortugueseAnalyzer.analyze("buraco"));
+    }
+
+    @Test
+    void stopwordsAndPunctuationAreDropped() {
+        assertEquals(List.of("burac", "rua", "escol"), PortugueseAnalyzer.analyze("Buraco na rua, da escola!"));
+    }
+
+    @Test
+    void shortTokensAndNumbersAreKept() {
+        assertEquals(List.of("rua", "123"), PortugueseAnalyzer.analyze("rua 123"));
+    }
+
+    @Test
+    void emptyTextHasNoTerms() {
+        assertTrue(PortugueseAnalyzer.analyze(null).isEmpty());
+        assertTrue(PortugueseAnalyzer.analyze("").isEmpty());
+        assertTrue(PortugueseAnalyzer.analyze("de da do").isEmpty());
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.fiec.voz_cidada.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostingsListTest {
+
+    @Test
+    void cursorReturnsDocsAndFrequenciesInOrder() {
+        int[] docs = { 0, 1, 127, 128, 16_384, 2_000_000, Integer.MAX_VALUE - 1 };
+        int[] frequencies = { 1, 2, 127, 128, 300, 1, 70_000 };
+        PostingsList list = new PostingsList();
+        for (int i = 0; i < docs.length; i++) {
+            list.add(docs[i], frequencies[i]);
+        }
+
+        PostingsList.Cursor cursor = list.cursor();
+        for (int i = 0; i < docs.length; i++) {
+            assertTrue(cursor.next());
+            assertEquals(docs[i], cursor.doc());
+            assertEquals(frequencies[i], cursor.termFreq());
+        }
+        assertFalse(cursor.next());
+        assertEquals(PostingsList.Cursor.NO_MORE_DOCS, cursor.doc());
+        assertEquals(docs.length, list.docFreq());
+    }
+
+    @Test
+    void closeDocsCostOneBytePerVarint() {
+        PostingsList list = new PostingsList();
+        for (int doc = 0; doc < 100; doc++) {
+            list.add(doc, 1);
+        }
+        assertEquals(200, list.sizeInBytes());
+    }
+
+    @Test
+    void docsMustBeAppendedInIncreasingOrder() {
+        PostingsList list = new PostingsList();
+        list.add(5, 1);
+        assertThrows(IllegalArgumentException.class, () -> list.add(5, 1));
+        assertThrows(IllegalArgumentException.class, () -> list.add(3, 1));
+    }
+
+    @Test
+    void cursorSeesOnlyDocsAddedBeforeItWasCreated() {
+        PostingsList list = new PostingsList();
+        list.add(1, 1);
+        PostingsList.Cursor cursor = list.cursor();
+        list.add(2, 1);
+
+        assertTrue(cursor.next());
+        assertEquals(1, cursor.doc());
+        assertFalse(cursor.next());
+    }
+
+}
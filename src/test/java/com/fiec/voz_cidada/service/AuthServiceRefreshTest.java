@@ -0,0 +1,169 @@
+package com.fiec.voz_cidada.service;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.fiec.voz_cidada.config.security.RefreshTokenRevocationStore;
+import com.fiec.voz_cidada.config.security.TokenService;
+import com.fiec.voz_cidada.domain.auth_user.AuthStatus;
+import com.fiec.voz_cidada.domain.auth_user.AuthUser;
+import com.fiec.voz_cidada.domain.auth_user.LoginResponseDTO;
+import com.fiec.voz_cidada.domain.auth_user.RefreshTokenDTO;
+import com.fiec.voz_cidada.domain.auth_user.UserRole;
+import com.fiec.voz_cidada.exceptions.InvalidAuthenticationException;
+import com.fiec.voz_cidada.repository.AuthRepository;
+import com.fiec.voz_cidada.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceRefreshTest {
+
+    private static final String SECRET = "segredo-de-teste";
+    private static final String ISSUER = "http://localhost:8080";
+    private static final long EXPIRE_LENGTH = 3600L;
+
+    @Mock
+    private AuthRepository authRepository;
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RefreshTokenRevocationStore revocationStore;
+    private AuthService authService;
+    private AuthUser user;
+
+    @BeforeEach
+    void setUp() {
+        TokenService tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secret", SECRET);
+        ReflectionTestUtils.setField(tokenService, "expireLength", EXPIRE_LENGTH);
+        ReflectionTestUtils.setField(tokenService, "issuer", ISSUER);
+        ReflectionTestUtils.setField(tokenService, "verifiedCacheMaxSize", 100L);
+        ReflectionTestUtils.invokeMethod(tokenService, "init");
+
+        revocationStore = new RefreshTokenRevocationStore(
+                revokedTokenRepository, authRepository, transactionManager, EXPIRE_LENGTH, 1_000, 0.01);
+
+        authService = new AuthService();
+        ReflectionTestUtils.setField(authService, "authRepository", authRepository);
+        ReflectionTestUtils.setField(authService, "tokenService", tokenService);
+        ReflectionTestUtils.setField(authService, "revocationStore", revocationStore);
+
+        user = new AuthUser("cidadao@voz.com", "senha", UserRole.USER, AuthStatus.SIGNIN);
+        ReflectionTestUtils.setField(user, "id", 1L);
+        when(authRepository.findById(1L)).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void refreshRotatesTheToken() {
+        String first = refreshToken(Instant.now());
+
+        String second = refresh(first).refreshToken();
+        assertNotEquals(first, second);
+        // O token novo também pode ser trocado uma vez
+        assertNotNull(refresh(second).refreshToken());
+
+        assertNull(user.getTokensValidAfter());
+        verify(authRepository, never()).save(any());
+    }
+
+    @Test
+    void reusedTokenRevokesEveryTokenOfTheUser() {
+        String stolen = refreshToken(Instant.now());
+        String rotated = refresh(stolen).refreshToken();
+
+        assertThrows(InvalidAuthenticationException.class, () -> refresh(stolen));
+        assertNotNull(user.getTokensValidAfter());
+        verify(authRepository).save(user);
+        // O token que o dono legítimo recebeu na rotação foi emitido antes da revogação
+        assertThrows(InvalidAuthenticationException.class, () -> refresh(rotated));
+    }
+
+    @Test
+    void reuseAfterFlushIsConfirmedInRevokedTokenTable() {
+        String jti = UUID.randomUUID().toString();
+        String token = refreshToken(jti, Instant.now());
+        refresh(token);
+        when(revokedTokenRepository.insertIfAbsent(eq(jti), any())).thenReturn(1);
+        revocationStore.flush();
+
+        // Fora da fila pendente, o positivo do Bloom filter é confirmado no banco
+        when(revokedTokenRepository.existsByJtiAndExpiresAtAfter(eq(jti), any())).thenReturn(true);
+        assertThrows(InvalidAuthenticationException.class, () -> refresh(token));
+        assertNotNull(user.getTokensValidAfter());
+    }
+
+    @Test
+    void reuseInAnotherInstanceIsDetectedOnFlush() {
+        String jti = UUID.randomUUID().toString();
+        refresh(refreshToken(jti, Instant.now()));
+
+        // O jti já estava em revoked_token: o primeiro uso foi em outra instância
+        when(revokedTokenRepository.insertIfAbsent(eq(jti), any())).thenReturn(0);
+        when(authRepository.findAllById(Set.of(1L))).thenReturn(List.of(user));
+        revocationStore.flush();
+
+        assertNotNull(user.getTokensValidAfter());
+        verify(authRepository).saveAll(List.of(user));
+    }
+
+    @Test
+    void tokenIssuedInTheRevocationSecondIsRejected() throws InterruptedException {
+        user.revokeIssuedTokens();
+        Instant validAfter = user.getTokensValidAfter().atZone(ZoneId.systemDefault()).toInstant();
+        Instant revocationSecond = validAfter.minusSeconds(1);
+
+        // O iat tem precisão de segundos: no segundo da revogação não dá para saber se o token veio antes ou depois
+        assertThrows(InvalidAuthenticationException.class, () -> refresh(refreshToken(revocationSecond)));
+        assertThrows(InvalidAuthenticationException.class, () -> refresh(refreshToken(revocationSecond.minusSeconds(1))));
+
+        // Espera o segundo seguinte para não emitir um iat no futuro, que o verificador recusaria
+        Thread.sleep(Math.max(0, Duration.between(Instant.now(), validAfter).toMillis()) + 1);
+        assertNotNull(refresh(refreshToken(validAfter)).refreshToken());
+    }
+
+    private LoginResponseDTO refresh(String refreshToken) {
+        return (LoginResponseDTO) authService.refresh(new RefreshTokenDTO(refreshToken)).getBody();
+    }
+
+    private static String refreshToken(Instant issuedAt) {
+        return refreshToken(UUID.randomUUID().toString(), issuedAt);
+    }
+
+    // Mesmas claims de TokenService.createRefreshToken, com iat controlado pelo teste
+    private static String refreshToken(String jti, Instant issuedAt) {
+        return JWT.create()
+                .withIssuer(ISSUER)
+                .withSubject("1")
+                .withClaim("token_type", "REFRESH")
+                .withJWTId(jti)
+                .withIssuedAt(issuedAt)
+                .withExpiresAt(Instant.now().plus(Duration.ofDays(1)))
+                .sign(Algorithm.HMAC256(SECRET));
+    }
+
+}
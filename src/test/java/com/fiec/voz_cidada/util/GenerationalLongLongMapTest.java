@@ -0,0 +1,132 @@
+package com.fiec.voz_cidada.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GenerationalLongLongMapTest {
+
+    private static final long MISSING = -1;
+    private static final long LONG_PERIOD = TimeUnit.HOURS.toNanos(1);
+
+    @Test
+    void fullGenerationBecomesPreviousAndOldestIsDropped() {
+        // maxEntries 4: gerações de 2 entradas
+        GenerationalLongLongMap map = new GenerationalLongLongMap(4, LONG_PERIOD);
+        map.put(1, 10);
+        map.put(2, 20);
+        map.put(3, 30);
+        // 1 e 2 foram para a geração anterior e continuam visíveis
+        assertEquals(10, map.get(1, MISSING));
+        assertEquals(20, map.get(2, MISSING));
+        assertEquals(30, map.get(3, MISSING));
+
+        map.put(4, 40);
+        map.put(5, 50);
+        // A segunda rotação descarta 1 e 2
+        assertEquals(MISSING, map.get(1, MISSING));
+        assertEquals(MISSING, map.get(2, MISSING));
+        assertEquals(30, map.get(3, MISSING));
+        assertEquals(40, map.get(4, MISSING));
+        assertEquals(50, map.get(5, MISSING));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    void sizeNeverExceedsMaxEntries() {
+        GenerationalLongLongMap map = new GenerationalLongLongMap(100, LONG_PERIOD);
+        for (long key = 1; key <= 1_000; key++) {
+            map.put(key, key);
+            assertTrue(map.size() <= 100);
+        }
+        assertEquals(1_000, map.get(1_000, MISSING));
+    }
+
+    @Test
+    void updatingKeyInFullGenerationDoesNotRotate() {
+        GenerationalLongLongMap map = new GenerationalLongLongMap(4, LONG_PERIOD);
+        map.put(1, 10);
+        map.put(2, 20);
+        map.put(3, 30);
+        map.put(4, 40);
+        // 3 já está na geração atual (cheia): sobrescrever não pode empurrar 1 e 2 para fora
+        map.put(3, 31);
+        assertEquals(10, map.get(1, MISSING));
+        assertEquals(31, map.get(3, MISSING));
+    }
+
+    @Test
+    void putMovesKeyOutOfPreviousGeneration() {
+        GenerationalLongLongMap map = new GenerationalLongLongMap(4, LONG_PERIOD);
+        map.put(1, 10);
+        map.put(2, 20);
+        map.put(3, 30);
+        // 1 está na anterior; o valor novo vai para a atual e o velho não pode reaparecer depois
+        map.put(1, 11);
+        assertEquals(11, map.get(1, MISSING));
+        assertEquals(3, map.size());
+
+        map.remove(1);
+        assertEquals(MISSING, map.get(1, MISSING));
+    }
+
+    @Test
+    void entriesExpireAfterTwoPeriods() throws InterruptedException {
+        long period = TimeUnit.MILLISECONDS.toNanos(5);
+        GenerationalLongLongMap map = new GenerationalLongLongMap(100, period);
+        map.put(1, 10);
+        assertEquals(10, map.get(1, MISSING));
+
+        TimeUnit.NANOSECONDS.sleep(2 * period + TimeUnit.MILLISECONDS.toNanos(5));
+        assertEquals(MISSING, map.get(1, MISSING));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void expiredGenerationRotatesOnWrite() throws InterruptedException {
+        long period = TimeUnit.MILLISECONDS.toNanos(5);
+        GenerationalLongLongMap map = new GenerationalLongLongMap(100, period);
+        map.put(1, 10);
+
+        TimeUnit.NANOSECONDS.sleep(2 * period + TimeUnit.MILLISECONDS.toNanos(5));
+        // A escrita também verifica o período: a entrada nova fica, a vencida sai
+        map.put(2, 20);
+        assertEquals(1, map.size());
+        assertEquals(20, map.get(2, MISSING));
+        assertEquals(MISSING, map.get(1, MISSING));
+    }
+
+    @Test
+    void putIfUnchangedStoresWhenNothingChanged() {
+        GenerationalLongLongMap map = new GenerationalLongLongMap(4, LONG_PERIOD);
+        long stamp = map.stamp();
+        map.putIfUnchanged(1, 10, stamp);
+        assertEquals(10, map.get(1, MISSING));
+        // putIfUnchanged não conta como alteração
+        assertEquals(stamp, map.stamp());
+    }
+
+    @Test
+    void putIfUnchangedRejectsValueReadBeforePut() {
+        GenerationalLongLongMap map = new GenerationalLongLongMap(4, LONG_PERIOD);
+        long stamp = map.stamp();
+        // Alteração concorrente entre a leitura na fonte e o putIfUnchanged
+        map.put(1, 20);
+        map.putIfUnchanged(1, 10, stamp);
+        assertEquals(20, map.get(1, MISSING));
+    }
+
+    @Test
+    void putIfUnchangedRejectsValueReadBeforeRemove() {
+        GenerationalLongLongMap map = new GenerationalLongLongMap(4, LONG_PERIOD);
+        map.put(1, 10);
+        long stamp = map.stamp();
+        map.remove(1);
+        map.putIfUnchanged(1, 10, stamp);
+        assertEquals(MISSING, map.get(1, MISSING));
+    }
+
+}
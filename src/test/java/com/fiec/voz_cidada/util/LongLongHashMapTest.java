@@ -0,0 +1,158 @@
+package com.fiec.voz_cidada.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongLongHashMapTest {
+
+    private static final long MISSING = -1;
+    // new LongLongHashMap() começa com 16 slots
+    private static final int CAPACITY = 16;
+
+    @Test
+    void putGetAndRemove() {
+        LongLongHashMap map = new LongLongHashMap();
+        assertEquals(MISSING, map.put(7, 70, MISSING));
+        assertEquals(70, map.put(7, 71, MISSING));
+        assertEquals(71, map.get(7, MISSING));
+        assertEquals(1, map.size());
+
+        assertEquals(71, map.remove(7, MISSING));
+        assertEquals(MISSING, map.remove(7, MISSING));
+        assertFalse(map.containsKey(7));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void removeInsideWrappedProbeChainKeepsTheRestReachable() {
+        // Três chaves com slot de origem no último slot: a segunda e a terceira sondam para 0 e 1
+        List<Long> lastSlot = keysWithHome(CAPACITY - 1, 3);
+        // E uma com origem no slot 0, que acaba empurrada para o slot 2
+        long firstSlot = keysWithHome(0, 1).get(0);
+        LongLongHashMap map = new LongLongHashMap();
+        for (long key : lastSlot) {
+            map.put(key, key * 10, MISSING);
+        }
+        map.put(firstSlot, firstSlot * 10, MISSING);
+
+        // Remover o início da cadeia obriga o shiftBack a puxar entradas por cima da virada do array
+        assertEquals(lastSlot.get(0) * 10, map.remove(lastSlot.get(0), MISSING));
+        assertEquals(lastSlot.get(1) * 10, map.get(lastSlot.get(1), MISSING));
+        assertEquals(lastSlot.get(2) * 10, map.get(lastSlot.get(2), MISSING));
+        assertEquals(firstSlot * 10, map.get(firstSlot, MISSING));
+
+        // E remover do meio da cadeia, já do outro lado da virada
+        assertEquals(lastSlot.get(2) * 10, map.remove(lastSlot.get(2), MISSING));
+        assertEquals(lastSlot.get(1) * 10, map.get(lastSlot.get(1), MISSING));
+        assertEquals(firstSlot * 10, map.get(firstSlot, MISSING));
+        assertFalse(map.containsKey(lastSlot.get(0)));
+        assertFalse(map.containsKey(lastSlot.get(2)));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void removeSkipsEntriesAtTheirHomeAndPullsTheOnesBehindThem() {
+        // Slots 3, 4, 5: a (origem 3), b (origem 4, no lugar certo) e c (origem 3, empurrada para o 5)
+        List<Long> home3 = keysWithHome(3, 2);
+        long b = keysWithHome(4, 1).get(0);
+        LongLongHashMap map = new LongLongHashMap();
+        map.put(home3.get(0), 1, MISSING);
+        map.put(b, 2, MISSING);
+        map.put(home3.get(1), 3, MISSING);
+
+        // b não pode ir para antes da própria origem; c tem que pular b e ocupar o slot 3
+        map.remove(home3.get(0), MISSING);
+        assertEquals(2, map.get(b, MISSING));
+        assertEquals(3, map.get(home3.get(1), MISSING));
+
+        map.remove(b, MISSING);
+        assertEquals(3, map.get(home3.get(1), MISSING));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void rehashKeepsEveryEntry() {
+        LongLongHashMap map = new LongLongHashMap();
+        int count = 10_000;
+        for (long key = 0; key < count; key++) {
+            map.put(key * 31, key, MISSING);
+        }
+        assertEquals(count, map.size());
+        for (long key = 0; key < count; key++) {
+            assertEquals(key, map.get(key * 31, MISSING));
+        }
+        assertFalse(map.containsKey(count * 31L));
+    }
+
+    @Test
+    void matchesHashMapUnderCollidingWorkload() {
+        // Oito chaves com origem nos slots 14, 15, 0 e 1: cadeias que atravessam a virada do array, sem chegar
+        // ao limite de rehash (9 entradas em 16 slots)
+        List<Long> pool = new ArrayList<>();
+        for (int home : new int[] { 14, 15, 0, 1 }) {
+            pool.addAll(keysWithHome(home, 2));
+        }
+        Random random = new Random(42);
+        Map<Long, Long> expected = new HashMap<>();
+        LongLongHashMap map = new LongLongHashMap();
+        for (int i = 0; i < 20_000; i++) {
+            long key = pool.get(random.nextInt(pool.size()));
+            if (random.nextInt(3) == 0) {
+                Long previous = expected.remove(key);
+                assertEquals(previous == null ? MISSING : previous, map.remove(key, MISSING));
+            } else {
+                long value = random.nextInt(1_000);
+                Long previous = expected.put(key, value);
+                assertEquals(previous == null ? MISSING : previous, map.put(key, value, MISSING));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (long key : pool) {
+            assertEquals((long) expected.getOrDefault(key, MISSING), map.get(key, MISSING));
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+        }
+    }
+
+    @Test
+    void clearRemovesEverything() {
+        LongLongHashMap map = new LongLongHashMap();
+        map.put(1, 1, MISSING);
+        map.put(2, 2, MISSING);
+        map.clear();
+        assertEquals(0, map.size());
+        assertFalse(map.containsKey(1));
+        map.put(1, 3, MISSING);
+        assertTrue(map.containsKey(1));
+    }
+
+    @Test
+    void reservedKeyIsRejected() {
+        LongLongHashMap map = new LongLongHashMap();
+        assertThrows(IllegalArgumentException.class, () -> map.put(Long.MIN_VALUE, 1, MISSING));
+        assertThrows(IllegalArgumentException.class, () -> map.get(Long.MIN_VALUE, MISSING));
+        assertThrows(IllegalArgumentException.class, () -> map.remove(Long.MIN_VALUE, MISSING));
+    }
+
+    // Mesmo espalhamento de LongLongHashMap.slot para a capacidade inicial de 16 slots
+    private static List<Long> keysWithHome(int home, int count) {
+        List<Long> keys = new ArrayList<>();
+        for (long key = 1; keys.size() < count; key++) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            if (((int) (h ^ (h >>> 32)) & (CAPACITY - 1)) == home) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+}